@@ -0,0 +1,24 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers in-memory side effects (cache evictions, version bumps) until the
+// surrounding transaction commits; runs immediately when there is none.
+public final class AfterCommit {
+    
+    private AfterCommit() {}
+    
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Workload whose connection pool serves a controller's requests. On a method it
+// overrides the one on the class.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+    
+    Workload value();
+}
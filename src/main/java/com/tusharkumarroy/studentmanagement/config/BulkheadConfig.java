@@ -0,0 +1,169 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+// Connection pool bulkheads. With bulkheads.enabled, every workload given a
+// maximum-pool-size gets its own Hikari pool next to each configured pool, and the
+// application's DataSource takes each connection from the current workload's pool. Requests get their
+// workload from @Bulkhead on the controller; async and executor work inherits it.
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+    
+    // Static: post-processors are created before the rest of the configuration. The
+    // concrete return type lets the container see its order before creating it
+    @Bean
+    public static WorkloadPoolsPostProcessor workloadPools(Environment environment,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new WorkloadPoolsPostProcessor(environment, meterRegistry);
+    }
+    
+    // Picked up by Boot's task executor, which also runs streamed MVC responses
+    @Bean
+    public TaskDecorator workloadTaskDecorator() {
+        return Workload::propagate;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor());
+    }
+    
+    // Splits every connection pool bean (the main pool, or the primary and replica pools)
+    // into per-workload pools with the same settings. Runs after db-limiter (see
+    // ExecutionModeConfig), so a limited pool's workload pools are limited too.
+    static class WorkloadPoolsPostProcessor implements BeanPostProcessor, Ordered {
+        
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        
+        WorkloadPoolsPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource
+                    && environment.getProperty("bulkheads.enabled", Boolean.class, false)) {
+                HikariDataSource pool = physicalPool(dataSource);
+                if (pool != null) {
+                    Map<Workload, HikariDataSource> pools = pools(pool);
+                    if (!pools.isEmpty()) {
+                        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(dataSource, pools,
+                                dataSource instanceof ConnectionPermitDataSource limited
+                                        ? limiter(limited) : UnaryOperator.identity());
+                        routing.afterPropertiesSet();
+                        return routing;
+                    }
+                }
+            }
+            return bean;
+        }
+        
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+        
+        // A connection pool bean, as built or behind db-limiter
+        private static HikariDataSource physicalPool(DataSource dataSource) {
+            if (dataSource instanceof ConnectionPermitDataSource limited) {
+                dataSource = limited.getTargetDataSource();
+            }
+            return dataSource instanceof HikariDataSource pool ? pool : null;
+        }
+        
+        // The main pool's limit, capped at each workload pool's size
+        private UnaryOperator<DataSource> limiter(ConnectionPermitDataSource main) {
+            return target -> {
+                HikariDataSource pool = (HikariDataSource) target;
+                return ExecutionModeConfig.limit(pool, pool.getPoolName(),
+                        Math.min(main.getPermits(), pool.getMaximumPoolSize()), main.getTimeout(),
+                        meterRegistry.getIfAvailable());
+            };
+        }
+        
+        // Pools are opened lazily, on their first connection
+        private Map<Workload, HikariDataSource> pools(HikariDataSource main) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+            for (Workload workload : Workload.values()) {
+                String prefix = "bulkheads." + workload.poolName() + ".";
+                int size = environment.getProperty(prefix + "maximum-pool-size", Integer.class, 0);
+                if (size <= 0) {
+                    continue;
+                }
+                // The main pool's url and settings (read-only for the replica), then this workload's own
+                HikariDataSource pool = new HikariDataSource();
+                main.copyStateTo(pool);
+                pool.setPoolName(main.isReadOnly() ? "replica-" + workload.poolName() : workload.poolName());
+                pool.setMaximumPoolSize(size);
+                pool.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout", Duration.class,
+                        Duration.ofSeconds(30)).toMillis());
+                if (registry != null) {
+                    // hikaricp.* meters tagged pool=<workload>
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+                pools.put(workload, pool);
+                logger.info("Bulkhead pool '{}': {} connections, {} ms timeout", pool.getPoolName(), size,
+                        pool.getConnectionTimeout());
+            }
+            return pools;
+        }
+    }
+    
+    // Sets each request's workload from @Bulkhead on its handler method, or else its class
+    static class BulkheadInterceptor implements AsyncHandlerInterceptor {
+        
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (handler instanceof HandlerMethod method) {
+                Bulkhead bulkhead = method.getMethodAnnotation(Bulkhead.class);
+                if (bulkhead == null) {
+                    bulkhead = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Bulkhead.class);
+                }
+                Workload.set(bulkhead != null ? bulkhead.value() : null);
+            }
+            return true;
+        }
+        
+        // The request thread is released while async handling goes on elsewhere
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            Workload.set(null);
+        }
+        
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    Exception ex) {
+            Workload.set(null);
+        }
+    }
+}
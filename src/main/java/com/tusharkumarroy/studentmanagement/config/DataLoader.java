@@ -3,6 +3,7 @@ package com.tusharkumarroy.studentmanagement.config;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.UserSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +18,10 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Built before the runner starts, so seeded users are added to it here
+    @Autowired
+    private UserSearchIndex searchIndex;
+
     @Override
     public void run(String... args) throws Exception {
         // Check if data already exists
@@ -68,6 +73,8 @@ public class DataLoader implements CommandLineRunner {
         user.setPassword(passwordEncoder.encode(password));
         user.setDepartment(department);
         user.setRole(role);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        searchIndex.put(saved);
+        return saved;
     }
 }
@@ -0,0 +1,102 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Request execution mode. With spring.threads.virtual.enabled (the virtual-threads
+// profile) Tomcat runs each request on a virtual thread, so blocking JDBC and BCrypt
+// waits no longer cap concurrency at the worker pool size; the database then becomes
+// the limit, and db-limiter.permits puts a fair queue in front of each connection pool.
+@Configuration
+public class ExecutionModeConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeConfig.class);
+    
+    private final Environment environment;
+    
+    public ExecutionModeConfig(Environment environment) {
+        this.environment = environment;
+    }
+    
+    @PostConstruct
+    void checkVirtualThreads() {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() < 21) {
+            logger.warn("Virtual threads need Java 21 or later (running {}); requests use platform threads",
+                    Runtime.version());
+        }
+    }
+    
+    // Static: post-processors are created before the rest of the configuration. The
+    // concrete return type lets the container see its order before creating it
+    @Bean
+    public static ConnectionPermitsPostProcessor connectionPermits(Environment environment,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        int permits = environment.getProperty("db-limiter.permits", Integer.class, 0);
+        Duration timeout = environment.getProperty("db-limiter.timeout", Duration.class, Duration.ofSeconds(30));
+        return new ConnectionPermitsPostProcessor(permits, timeout, meterRegistry);
+    }
+    
+    // Puts a fair permit queue in front of one connection pool, with its saturation
+    // gauges (next to Hikari's own hikaricp.connections.pending) tagged by pool name
+    static ConnectionPermitDataSource limit(DataSource pool, String poolName, int permits, Duration timeout,
+                                            MeterRegistry registry) {
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, permits, timeout);
+        if (registry != null) {
+            Gauge.builder("db.limiter.queued", limited, ConnectionPermitDataSource::getQueueLength)
+                    .description("Callers waiting for a database permit")
+                    .tag("pool", poolName)
+                    .register(registry);
+            Gauge.builder("db.limiter.available", limited, ConnectionPermitDataSource::getAvailablePermits)
+                    .description("Database permits not in use")
+                    .tag("pool", poolName)
+                    .register(registry);
+        }
+        return limited;
+    }
+    
+    // Limits every connection pool bean (the main pool, or the primary and replica pools).
+    // Ordered before the bulkhead router (BulkheadConfig), which limits the workload pools
+    // it cuts from a limited pool the same way.
+    static class ConnectionPermitsPostProcessor implements BeanPostProcessor, Ordered {
+        
+        private final int permits;
+        private final Duration timeout;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        
+        ConnectionPermitsPostProcessor(int permits, Duration timeout, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.permits = permits;
+            this.timeout = timeout;
+            this.meterRegistry = meterRegistry;
+        }
+        
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (permits > 0 && bean instanceof HikariDataSource pool) {
+                String poolName = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+                logger.info("Database access through pool '{}' limited to {} concurrent connections", poolName,
+                        permits);
+                return limit(pool, poolName, permits, timeout, meterRegistry.getIfAvailable());
+            }
+            return bean;
+        }
+        
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Regions of Hibernate's second-level and query cache, held in process by Caffeine
+// through JCache. Every region Hibernate uses is declared here with its own size and
+// TTL; an undeclared region fails startup instead of silently getting defaults.
+@Configuration
+public class HibernateCacheConfig {
+    
+    // Region names used by @Cache on User and by the cacheable queries in UserRepository
+    public static final String USERS = "users";
+    public static final String USER_LISTINGS = "user-listings";
+    
+    // Hibernate's own regions: last change time per table, used to invalidate cached
+    // queries, and results of cacheable queries that name no region
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    
+    @Value("${hibernate-cache.users.max-size:10000}")
+    private long usersMaxSize;
+    
+    @Value("${hibernate-cache.users.ttl:10m}")
+    private Duration usersTtl;
+    
+    @Value("${hibernate-cache.listings.max-size:1000}")
+    private long listingsMaxSize;
+    
+    @Value("${hibernate-cache.listings.ttl:5m}")
+    private Duration listingsTtl;
+    
+    // Each application context gets its own manager (tests may run several side by side)
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USERS, region(usersMaxSize, usersTtl));
+        cacheManager.createCache(USER_LISTINGS, region(listingsMaxSize, listingsTtl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS, region(listingsMaxSize, listingsTtl));
+        // Must never lose entries, or stale query results could be served
+        cacheManager.createCache(UPDATE_TIMESTAMPS, region(0, null));
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+    
+    // maxSize 0 = unbounded, ttl null = no expiry
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize > 0 ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttl != null ? OptionalLong.of(ttl.toNanos()) : OptionalLong.empty());
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.reactor.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// The reactive profile (spring.main.web-application-type=reactive) serves the read API
+// with WebFlux on Netty and reads through R2DBC. JPA, Flyway and the JDBC pool still
+// start as usual (migrations, caches, token registry); they are just not on the request path.
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    
+    @Value("${reactive-api.r2dbc-url}")
+    private String url;
+    
+    @Value("${reactive-api.username:${spring.datasource.username:}}")
+    private String username;
+    
+    @Value("${reactive-api.password:${spring.datasource.password:}}")
+    private String password;
+    
+    @Value("${reactive-api.pool-size:20}")
+    private int poolSize;
+    
+    private ConnectionPool connectionPool;
+    
+    // The pool is deliberately not a ConnectionFactory bean: Boot takes one as the app having
+    // no JDBC DataSource, and JPA and Flyway would not start
+    @Bean
+    public DatabaseClient databaseClient() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(poolSize, 10))
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+    
+    @PreDestroy
+    void close() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+    
+    // Tomcat is on the classpath too and could otherwise be picked for the reactive server
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
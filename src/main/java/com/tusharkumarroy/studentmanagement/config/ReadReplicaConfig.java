@@ -0,0 +1,68 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Two pools when datasource-replica.url is set: the primary from spring.datasource.*
+// and a read-only one for the replica. The application's DataSource routes between
+// them (ReplicaRoutingDataSource); without a replica Boot's single pool is used as before.
+@Configuration
+@ConditionalOnProperty("datasource-replica.url")
+public class ReadReplicaConfig {
+    
+    @Value("${datasource-replica.url}")
+    private String url;
+    
+    @Value("${datasource-replica.username:${spring.datasource.username:}}")
+    private String username;
+    
+    @Value("${datasource-replica.password:${spring.datasource.password:}}")
+    private String password;
+    
+    @Value("${datasource-replica.maximum-pool-size:10}")
+    private int maximumPoolSize;
+    
+    @Value("${datasource-replica.sticky-after-write:1s}")
+    private Duration stickyAfterWrite;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+    
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url).username(username).password(password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+    
+    // Either pool may by now sit behind db-limiter and the bulkhead router
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSource primaryDataSource, DataSource replicaDataSource) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                stickyAfterWrite);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
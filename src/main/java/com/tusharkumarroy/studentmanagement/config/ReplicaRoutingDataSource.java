@@ -0,0 +1,41 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Sends read-only transactions to the replica and everything else to the primary.
+// Used behind LazyConnectionDataSourceProxy, so the connection is only taken at the
+// first statement, once the transaction's read-only flag is known.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    enum Target { PRIMARY, REPLICA }
+    
+    // After a write commits, reads stay on the primary this long (0 = never)
+    private long stickyNanos;
+    
+    // System.nanoTime() until which reads go to the primary. Global, not per writer: roster
+    // ETags and the statistics cache move on with every write, so any reader, not only the
+    // writer, would otherwise cache a stale replica read under the new version.
+    private volatile long primaryUntil = System.nanoTime();
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration stickyAfterWrite) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.stickyNanos = stickyAfterWrite.toNanos();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return System.nanoTime() - primaryUntil < 0 ? Target.PRIMARY : Target.REPLICA;
+        }
+        if (stickyNanos > 0 && TransactionSynchronizationManager.isActualTransactionActive()) {
+            AfterCommit.run(() -> primaryUntil = System.nanoTime() + stickyNanos);
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,10 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background housekeeping such as purging expired refresh tokens
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
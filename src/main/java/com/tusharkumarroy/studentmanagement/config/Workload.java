@@ -0,0 +1,65 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+// Classes of work that get their own connection pool (bulkheads.<name>.*), so one
+// class running long cannot take the connections another needs. The current thread's
+// workload is set per request from @Bulkhead and follows the work onto executor
+// threads; work outside any request (startup, scheduled jobs) has none and uses the
+// main pool.
+public enum Workload {
+    
+    // Logins, registration and token refresh
+    AUTH,
+    // Listings, lookups and statistics
+    READ,
+    // Admin writes, bulk operations, import and export
+    ADMIN;
+    
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+    
+    public String poolName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    public static Workload current() {
+        return CURRENT.get();
+    }
+    
+    // null clears it
+    public static void set(Workload workload) {
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+    }
+    
+    // Wraps work handed to another thread so it runs under the caller's workload
+    public static Runnable propagate(Runnable work) {
+        Workload workload = current();
+        return () -> {
+            Workload previous = current();
+            set(workload);
+            try {
+                work.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+    
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        Workload workload = current();
+        return () -> {
+            Workload previous = current();
+            set(workload);
+            try {
+                return work.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+}
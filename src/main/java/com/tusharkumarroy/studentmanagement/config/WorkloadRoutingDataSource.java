@@ -0,0 +1,53 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+// Takes each connection from the current workload's pool. Work with no workload, or
+// one without a pool of its own, uses the main DataSource it wraps. Each workload pool
+// is cut from one physical pool (the main pool, or the primary or replica), so replica
+// routing still sits above it and db-limiter still sits in front of it.
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    private final DataSource main;
+    private final Map<Workload, HikariDataSource> pools;
+    
+    // wrapper is applied to each pool before connections are taken from it
+    public WorkloadRoutingDataSource(DataSource main, Map<Workload, HikariDataSource> pools,
+                                     UnaryOperator<DataSource> wrapper) {
+        this.main = main;
+        this.pools = new EnumMap<>(pools);
+        Map<Object, Object> targets = new HashMap<>();
+        pools.forEach((workload, pool) -> targets.put(workload, wrapper.apply(pool)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(main);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+    
+    public HikariDataSource getPool(Workload workload) {
+        return pools.get(workload);
+    }
+    
+    public DataSource getMainDataSource() {
+        return main;
+    }
+    
+    // Replaces the main pool's bean as "dataSource", so it also closes the main pool on shutdown
+    @Override
+    public void close() throws Exception {
+        pools.values().forEach(HikariDataSource::close);
+        if (main instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
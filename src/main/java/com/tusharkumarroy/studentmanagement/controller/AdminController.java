@@ -1,24 +1,47 @@
 package com.tusharkumarroy.studentmanagement.controller;
 
+import com.tusharkumarroy.studentmanagement.config.Bulkhead;
+import com.tusharkumarroy.studentmanagement.config.Workload;
+import com.tusharkumarroy.studentmanagement.dto.AssignmentResult;
+import com.tusharkumarroy.studentmanagement.dto.ImportReport;
+import com.tusharkumarroy.studentmanagement.dto.UserFileFormat;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingUnavailableException;
+import com.tusharkumarroy.studentmanagement.service.UserExportService;
+import com.tusharkumarroy.studentmanagement.service.UserImportService;
+import com.tusharkumarroy.studentmanagement.service.ReadTimeoutException;
+import com.tusharkumarroy.studentmanagement.service.RosterPages;
+import com.tusharkumarroy.studentmanagement.service.RosterStatsService;
 import com.tusharkumarroy.studentmanagement.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/admin")
-@CrossOrigin(origins = "*")
+@Bulkhead(Workload.ADMIN)
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminController {
     
@@ -27,44 +50,124 @@ public class AdminController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private RosterPages rosterPages;
+    
+    @Autowired
+    private RosterStatsService rosterStatsService;
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private UserExportService userExportService;
+    
     // User Management
     
+    // Dashboard listings and statistics are reads; the rest of the admin API runs on the admin pool
     @GetMapping("/users")
-    public ResponseEntity<?> getAllUsers() {
+    @Bulkhead(Workload.READ)
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String department,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        return rosterPages.page(null, department, sort, cursor, size, fields, request);
+    }
+    
+    @GetMapping("/students")
+    @Bulkhead(Workload.READ)
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String department,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        return rosterPages.page(Role.STUDENT, department, sort, cursor, size, fields, request);
+    }
+    
+    @GetMapping("/teachers")
+    @Bulkhead(Workload.READ)
+    public ResponseEntity<?> getAllTeachers(@RequestParam(required = false) String department,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        return rosterPages.page(Role.TEACHER, department, sort, cursor, size, fields, request);
+    }
+    
+    // Totals by role and department, students per teacher and unassigned students
+    @GetMapping("/stats")
+    @Bulkhead(Workload.READ)
+    public ResponseEntity<?> getStats() {
         try {
-            return ResponseEntity.ok(userService.getAllUsers());
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return ResponseEntity.ok(rosterStatsService.getStats());
+        } catch (ReadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         }
     }
     
-    @GetMapping("/students")
-    public ResponseEntity<?> getAllStudents() {
+    @PostMapping("/users")
+    public ResponseEntity<?> createUser(@Valid @RequestBody User user) {
         try {
-            List<User> students = userService.getUsersByRole(Role.STUDENT);
-            return ResponseEntity.ok(students);
+            User createdUser = userService.createUser(user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        } catch (PasswordHashingUnavailableException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
-    @GetMapping("/teachers")
-    public ResponseEntity<?> getAllTeachers() {
+    // Bulk onboarding: text/csv with a header row, or application/x-ndjson with one user per line
+    @PostMapping(value = "/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
         try {
-            List<User> teachers = userService.getUsersByRole(Role.TEACHER);
-            return ResponseEntity.ok(teachers);
+            ImportReport report = userImportService.importUsers(body, UserFileFormat.fromContentType(contentType));
+            return ResponseEntity.ok(report);
         } catch (Exception e) {
+            logger.error("Error importing users: " + e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
-    @PostMapping("/users")
-    public ResponseEntity<?> createUser(@Valid @RequestBody User user) {
+    // Whole roster as a download, written while it is read from the database. Compressed
+    // when the client accepts gzip (curl --compressed).
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String role,
+                                         @RequestParam(required = false) String department,
+                                         @RequestParam(required = false) String format,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            User createdUser = userService.createUser(user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+            Role selectedRole = role == null || role.isBlank() ? null : Role.valueOf(role.trim().toUpperCase());
+            Set<String> selected = UserSummary.parseFields(fields);
+            UserFileFormat fileFormat = UserFileFormat.from(format);
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            
+            StreamingResponseBody body = out -> {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    userExportService.export(selectedRole, department, selected, fileFormat, compressed);
+                    compressed.finish();
+                } else {
+                    userExportService.export(selectedRole, department, selected, fileFormat, out);
+                }
+            };
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(fileFormat.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + fileFormat.getExtension() + "\"")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(body);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            // Streaming responses are only handled when declared as such, so the message is streamed too
+            byte[] message = String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
         }
     }
     
@@ -81,6 +184,8 @@ public class AdminController {
             User updatedUser = userService.updateUser(id, user);
             logger.info("User updated successfully");
             return ResponseEntity.ok(updatedUser);
+        } catch (PasswordHashingUnavailableException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             logger.error("Error updating user: " + e.getMessage(), e);
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -97,6 +202,16 @@ public class AdminController {
         }
     }
     
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable Long id) {
+        try {
+            userService.revokeTokens(id);
+            return ResponseEntity.ok("All sessions revoked for user: " + id);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
     // Assignment Management
     
     @PutMapping("/assign/{studentId}/to/{teacherId}")
@@ -118,4 +233,42 @@ public class AdminController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    
+    // Bulk assignment: body is a JSON array of student ids
+    @PutMapping("/assign/to/{teacherId}")
+    public ResponseEntity<?> assignStudentsToTeacher(@PathVariable Long teacherId, @RequestBody List<Long> studentIds) {
+        try {
+            int updated = userService.assignStudentsToTeacher(studentIds, teacherId);
+            return ResponseEntity.ok(new AssignmentResult(updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    // Moves every student of one teacher to another
+    @PutMapping("/reassign/{fromTeacherId}/to/{toTeacherId}")
+    public ResponseEntity<?> moveStudents(@PathVariable Long fromTeacherId, @PathVariable Long toTeacherId) {
+        try {
+            int updated = userService.moveStudents(fromTeacherId, toTeacherId);
+            return ResponseEntity.ok(new AssignmentResult(updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    @PutMapping("/unassign/from/{teacherId}")
+    public ResponseEntity<?> unassignAllStudents(@PathVariable Long teacherId) {
+        try {
+            int updated = userService.unassignAllStudents(teacherId);
+            return ResponseEntity.ok(new AssignmentResult(updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    private ResponseEntity<?> serviceUnavailable(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
 }
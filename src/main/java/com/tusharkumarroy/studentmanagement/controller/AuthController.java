@@ -1,40 +1,105 @@
 package com.tusharkumarroy.studentmanagement.controller;
 
+import com.tusharkumarroy.studentmanagement.config.Bulkhead;
+import com.tusharkumarroy.studentmanagement.config.Workload;
 import com.tusharkumarroy.studentmanagement.dto.LoginRequest;
-import com.tusharkumarroy.studentmanagement.dto.LoginResponse;
+import com.tusharkumarroy.studentmanagement.dto.RefreshRequest;
 import com.tusharkumarroy.studentmanagement.dto.RegisterRequest;
-import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.security.LoginRateLimiter;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingUnavailableException;
+import com.tusharkumarroy.studentmanagement.security.RateLimitExceededException;
 import com.tusharkumarroy.studentmanagement.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/auth")
+@Bulkhead(Workload.AUTH)
 @CrossOrigin(origins = "*")
 public class AuthController {
     
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private LoginRateLimiter rateLimiter;
+    
+    // Register and login complete asynchronously: the request thread is released while BCrypt runs.
+    // Both pass the rate limiter first, so rejected attempts never reach the hashing pool.
+    // getRemoteAddr() is the client behind a trusted proxy (server.forward-headers-strategy).
+    
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request,
+                                                         HttpServletRequest httpRequest) {
         try {
-            User user = authService.register(request);
-            return ResponseEntity.ok("User registered successfully with username: " + user.getUsername());
+            rateLimiter.check(httpRequest.getRemoteAddr(), request.getUsername());
+            return authService.register(request)
+                    .<ResponseEntity<?>>thenApply(user -> ResponseEntity.ok("User registered successfully with username: " + user.getUsername()))
+                    .exceptionally(e -> failure(e, unwrap(e).getMessage()));
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.completedFuture(tooManyRequests(e));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
     }
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request,
+                                                      HttpServletRequest httpRequest) {
         try {
-            LoginResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
+            rateLimiter.check(httpRequest.getRemoteAddr(), request.getUsername());
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.completedFuture(tooManyRequests(e));
+        }
+        return authService.login(request)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> failure(e, "Invalid credentials"));
+    }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Invalid credentials");
+            // 401 tells the client to fall back to a full login
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok("Logged out successfully");
+    }
+    
+    private ResponseEntity<?> failure(Throwable e, String message) {
+        if (unwrap(e) instanceof PasswordHashingUnavailableException busy) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(busy.getRetryAfterSeconds()))
+                    .body(busy.getMessage());
+        }
+        return ResponseEntity.badRequest().body(message);
+    }
+    
+    private ResponseEntity<?> tooManyRequests(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+    
+    private Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
 }
@@ -1,39 +1,96 @@
 package com.tusharkumarroy.studentmanagement.controller;
 
+import com.tusharkumarroy.studentmanagement.config.Bulkhead;
+import com.tusharkumarroy.studentmanagement.config.Workload;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.service.RosterPages;
+import com.tusharkumarroy.studentmanagement.service.UserSearchService;
 import com.tusharkumarroy.studentmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
+@Bulkhead(Workload.READ)
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @PreAuthorize("isAuthenticated()")
 public class PublicController {
     
     @Autowired
     private UserService userService;
     
-    // Read-only endpoints for all authenticated users
+    @Autowired
+    private RosterPages rosterPages;
+    
+    @Autowired
+    private UserSearchService userSearchService;
+    
+    // Read-only endpoints for all authenticated users.
+    // Listings are paginated: ?size=&cursor=&sort=id|username|department&department=
+    // and ?fields=id,username,... narrows each item to the named UserSummary fields
     
     @GetMapping("/students")
-    public ResponseEntity<List<User>> getAllStudents() {
-        return ResponseEntity.ok(userService.getUsersByRole(Role.STUDENT));
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String department,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        return rosterPages.page(Role.STUDENT, department, sort, cursor, size, fields, request);
+    }
+    
+    // Students without a teacher, by id (?size=&cursor=&fields=)
+    @GetMapping("/students/unassigned")
+    public ResponseEntity<?> getUnassignedStudents(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size,
+                                                   @RequestParam(required = false) String fields,
+                                                   WebRequest request) {
+        return rosterPages.unassignedStudents(cursor, size, fields, request);
     }
     
     @GetMapping("/teachers")
-    public ResponseEntity<List<User>> getAllTeachers() {
-        return ResponseEntity.ok(userService.getUsersByRole(Role.TEACHER));
+    public ResponseEntity<?> getAllTeachers(@RequestParam(required = false) String department,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        return rosterPages.page(Role.TEACHER, department, sort, cursor, size, fields, request);
     }
     
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String department,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String fields,
+                                         WebRequest request) {
+        return rosterPages.page(null, department, sort, cursor, size, fields, request);
+    }
+    
+    // ?q= matches anywhere in username, email or department (from the start, below 3 characters);
+    // optional role and limit (default 20)
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(required = false) String role,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            Role selectedRole = role == null || role.isBlank() ? null : Role.valueOf(role.trim().toUpperCase());
+            List<UserSummary> results = userSearchService.search(q, selectedRole, limit);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
     
     @GetMapping("/users/{id}")
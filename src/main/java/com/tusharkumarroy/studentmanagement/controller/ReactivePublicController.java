@@ -0,0 +1,119 @@
+package com.tusharkumarroy.studentmanagement.controller;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.service.ReactiveUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+// PublicController's read API for the reactive profile (WebFlux). Listings take the same
+// parameters and return the same pages; with Accept: application/x-ndjson they instead
+// stream every matching user after the cursor, one JSON object per line, read from the
+// database only as fast as the client consumes them.
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactivePublicController {
+    
+    @Autowired
+    private ReactiveUserService reactiveUserService;
+    
+    @GetMapping("/students")
+    public Mono<ResponseEntity<?>> getAllStudents(@RequestParam(required = false) String department,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestParam(required = false) String fields) {
+        return page(Role.STUDENT, department, sort, cursor, size, fields);
+    }
+    
+    @GetMapping("/teachers")
+    public Mono<ResponseEntity<?>> getAllTeachers(@RequestParam(required = false) String department,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestParam(required = false) String fields) {
+        return page(Role.TEACHER, department, sort, cursor, size, fields);
+    }
+    
+    @GetMapping("/users")
+    public Mono<ResponseEntity<?>> getAllUsers(@RequestParam(required = false) String department,
+                                               @RequestParam(required = false) String sort,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String fields) {
+        return page(null, department, sort, cursor, size, fields);
+    }
+    
+    @GetMapping(value = "/students", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamStudents(@RequestParam(required = false) String department,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) String fields) {
+        return stream(Role.STUDENT, department, cursor, fields);
+    }
+    
+    @GetMapping(value = "/teachers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamTeachers(@RequestParam(required = false) String department,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) String fields) {
+        return stream(Role.TEACHER, department, cursor, fields);
+    }
+    
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> streamUsers(@RequestParam(required = false) String department,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) String fields) {
+        return stream(null, department, cursor, fields);
+    }
+    
+    @GetMapping("/users/{id}")
+    public Mono<ResponseEntity<UserSummary>> getUserById(@PathVariable Long id) {
+        return reactiveUserService.getUserById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    private Mono<ResponseEntity<?>> page(Role role, String department, String sort, String cursor, Integer size,
+                                         String fields) {
+        try {
+            Set<String> selected = UserSummary.parseFields(fields);
+            UserSort userSort = UserSort.from(sort);
+            return reactiveUserService.getUsersPage(role, department, userSort, cursor, size)
+                    .<ResponseEntity<?>>map(page -> ResponseEntity.ok(selected == null ? page
+                            : page.map(summary -> summary.select(selected))))
+                    .onErrorResume(e -> e instanceof RuntimeException && !(e instanceof DataAccessException),
+                            e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+        } catch (RuntimeException e) {
+            return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+    }
+    
+    // Invalid fields or cursor of a stream: raised before the first line is written
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<String> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+    
+    // The database failing is not the request's fault: more specific than the handler above
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<String> databaseUnavailable(DataAccessException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+    
+    private Flux<Object> stream(Role role, String department, String cursor, String fields) {
+        Set<String> selected = UserSummary.parseFields(fields);
+        return reactiveUserService.streamUsers(role, department, cursor)
+                .map(summary -> selected == null ? summary : summary.select(selected));
+    }
+}
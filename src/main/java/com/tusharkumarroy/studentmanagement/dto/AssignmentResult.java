@@ -0,0 +1,19 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+// Response of the bulk assignment endpoints: how many students were changed
+public class AssignmentResult {
+    
+    private int updated;
+    
+    public AssignmentResult(int updated) {
+        this.updated = updated;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk import; only the first maxErrors row errors are listed
+public class ImportReport {
+    
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private final int maxErrors;
+    
+    public ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+    
+    public void addImported(int count) {
+        imported += count;
+    }
+    
+    public void addError(int line, String username, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, username, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+    
+    public int getImported() {
+        return imported;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    // line is the line number in the uploaded file (the CSV header is line 1)
+    public static class RowError {
+        
+        private int line;
+        private String username;
+        private String message;
+        
+        public RowError(int line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+        
+        public int getLine() {
+            return line;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+    }
+}
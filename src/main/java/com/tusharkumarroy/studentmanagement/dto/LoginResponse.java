@@ -3,6 +3,7 @@ package com.tusharkumarroy.studentmanagement.dto;
 public class LoginResponse {
     
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String username;
     private String email;
@@ -23,6 +24,14 @@ public class LoginResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
     public String getType() {
         return type;
     }
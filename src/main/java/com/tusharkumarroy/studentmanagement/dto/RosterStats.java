@@ -0,0 +1,127 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+
+import java.util.List;
+import java.util.Map;
+
+// Roster totals for the admin dashboard (GET /api/admin/stats)
+public class RosterStats {
+    
+    private final long totalUsers;
+    private final Map<Role, Long> usersByRole;
+    private final List<DepartmentCount> usersByDepartment;
+    private final long unassignedStudents;
+    private final TeacherLoad teacherLoad;
+    
+    public RosterStats(long totalUsers, Map<Role, Long> usersByRole, List<DepartmentCount> usersByDepartment,
+                       long unassignedStudents, TeacherLoad teacherLoad) {
+        this.totalUsers = totalUsers;
+        this.usersByRole = usersByRole;
+        this.usersByDepartment = usersByDepartment;
+        this.unassignedStudents = unassignedStudents;
+        this.teacherLoad = teacherLoad;
+    }
+    
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+    
+    public Map<Role, Long> getUsersByRole() {
+        return usersByRole;
+    }
+    
+    public List<DepartmentCount> getUsersByDepartment() {
+        return usersByDepartment;
+    }
+    
+    public long getUnassignedStudents() {
+        return unassignedStudents;
+    }
+    
+    public TeacherLoad getTeacherLoad() {
+        return teacherLoad;
+    }
+    
+    public static class DepartmentCount {
+        
+        private final String department;
+        private final Role role;
+        private final long users;
+        
+        public DepartmentCount(String department, Role role, long users) {
+            this.department = department;
+            this.role = role;
+            this.users = users;
+        }
+        
+        public String getDepartment() {
+            return department;
+        }
+        
+        public Role getRole() {
+            return role;
+        }
+        
+        public long getUsers() {
+            return users;
+        }
+    }
+    
+    // Students per teacher; histogram lists how many teachers have each student count
+    public static class TeacherLoad {
+        
+        private final long teachers;
+        private final long min;
+        private final double avg;
+        private final long max;
+        private final List<LoadBucket> histogram;
+        
+        public TeacherLoad(long teachers, long min, double avg, long max, List<LoadBucket> histogram) {
+            this.teachers = teachers;
+            this.min = min;
+            this.avg = avg;
+            this.max = max;
+            this.histogram = histogram;
+        }
+        
+        public long getTeachers() {
+            return teachers;
+        }
+        
+        public long getMin() {
+            return min;
+        }
+        
+        public double getAvg() {
+            return avg;
+        }
+        
+        public long getMax() {
+            return max;
+        }
+        
+        public List<LoadBucket> getHistogram() {
+            return histogram;
+        }
+    }
+    
+    public static class LoadBucket {
+        
+        private final long students;
+        private final long teachers;
+        
+        public LoadBucket(long students, long teachers) {
+            this.students = students;
+            this.teachers = teachers;
+        }
+        
+        public long getStudents() {
+            return students;
+        }
+        
+        public long getTeachers() {
+            return teachers;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// File formats for bulk import and export: CSV with a header row, or one JSON object per line
+public enum UserFileFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+    
+    private final MediaType mediaType;
+    
+    UserFileFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    
+    public String getExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    public static UserFileFormat fromContentType(String contentType) {
+        MediaType requested;
+        try {
+            requested = MediaType.parseMediaType(contentType);
+        } catch (Exception e) {
+            throw new RuntimeException("Unsupported format: " + contentType);
+        }
+        for (UserFileFormat format : values()) {
+            if (requested.isCompatibleWith(format.mediaType)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported format: " + contentType);
+    }
+    
+    // ?format=csv|ndjson; null means NDJSON
+    public static UserFileFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported format: " + value + " (allowed: csv, ndjson)");
+        }
+    }
+}
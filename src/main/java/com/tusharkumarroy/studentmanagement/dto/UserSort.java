@@ -0,0 +1,18 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+import java.util.Locale;
+
+// Orders supported by the paginated user listings; id breaks ties so the order is total
+public enum UserSort {
+    ID,
+    USERNAME,
+    DEPARTMENT;
+    
+    public static UserSort from(String value) {
+        try {
+            return value == null ? ID : valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported sort: " + value);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.tusharkumarroy.studentmanagement.dto;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Read model for user listings, built by a constructor expression in UserRepository:
+// only these columns are selected and no managed entity is created per row
+public class UserSummary {
+    
+    // Names accepted by ?fields=, in output order
+    public static final List<String> FIELDS = List.of("id", "username", "email", "department", "role",
+            "assignedTeacherId", "assignedTeacherUsername", "assignedStudentCount");
+    
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String department;
+    private final Role role;
+    private final Long assignedTeacherId;
+    private final String assignedTeacherUsername;
+    private final long assignedStudentCount;
+    
+    public UserSummary(Long id, String username, String email, String department, Role role,
+                       Long assignedTeacherId, String assignedTeacherUsername, long assignedStudentCount) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.department = department;
+        this.role = role;
+        this.assignedTeacherId = assignedTeacherId;
+        this.assignedTeacherUsername = assignedTeacherUsername;
+        this.assignedStudentCount = assignedStudentCount;
+    }
+    
+    // Parses "id,username" into the selected field names; null or blank means all fields
+    public static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new RuntimeException("Unknown field: " + name + " (allowed: " + String.join(",", FIELDS) + ")");
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+    
+    public Map<String, Object> select(Set<String> fields) {
+        Object[] values = {id, username, email, department, role, assignedTeacherId, assignedTeacherUsername, assignedStudentCount};
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (fields.contains(FIELDS.get(i))) {
+                selected.put(FIELDS.get(i), values[i]);
+            }
+        }
+        return selected;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public Long getAssignedTeacherId() {
+        return assignedTeacherId;
+    }
+    
+    public String getAssignedTeacherUsername() {
+        return assignedTeacherUsername;
+    }
+    
+    public long getAssignedStudentCount() {
+        return assignedStudentCount;
+    }
+}
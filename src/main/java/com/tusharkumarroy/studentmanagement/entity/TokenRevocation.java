@@ -0,0 +1,77 @@
+package com.tusharkumarroy.studentmanagement.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// One revocation, shared with every node through TokenRevocationLog: either a single
+// access token (tokenId) or a user's tokens older than tokenVersion (all of them when
+// tokenVersion is null). Kept until every token it can affect has expired.
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "token_version")
+    private Long tokenVersion;
+    
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    
+    // Constructors
+    public TokenRevocation() {}
+    
+    public static TokenRevocation ofToken(String tokenId, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.tokenId = tokenId;
+        revocation.recordedAt = Instant.now();
+        revocation.expiresAt = expiresAt;
+        return revocation;
+    }
+    
+    // tokenVersion null revokes every token of the user
+    public static TokenRevocation ofUser(Long userId, Long tokenVersion, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.userId = userId;
+        revocation.tokenVersion = tokenVersion;
+        revocation.recordedAt = Instant.now();
+        revocation.expiresAt = expiresAt;
+        return revocation;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+    
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -3,16 +3,30 @@ package com.tusharkumarroy.studentmanagement.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+// Second-level cached (region "users", see HibernateCacheConfig). assignedStudents is not:
+// it is the inverse side, so assigning a student would not invalidate a cached copy.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+// Lazy associations may be proxies; keep Hibernate's proxy internals out of the JSON
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
     
+    // Sequence ids (created by V4__users_id_sequence) let Hibernate batch inserts;
+    // allocationSize must match the sequence's increment
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Username is required")
@@ -36,14 +50,25 @@ public class User {
     @Column(nullable = false)
     private Role role;
     
-    // For students: their assigned teacher
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Bumped whenever previously issued tokens must stop working (role/password change)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+    
+    // For students: their assigned teacher. Lazy so logins and lookups don't join it;
+    // UserRepository.findById join-fetches it for single-user reads, and listings read
+    // the teacher's id and name through UserSummary projections instead.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
     @JsonIgnoreProperties({"password", "assignedStudents"})
     private User assignedTeacher;
     
-    // For teachers: their assigned students
+    // For teachers: their assigned students. Only single-user responses (detail, create,
+    // update, assign) serialize it; listings carry a student count from UserSummary instead.
+    // Collections of several teachers in one session still load 200 at a time.
     @OneToMany(mappedBy = "assignedTeacher", fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @JsonIgnoreProperties({"password", "assignedTeacher"})
     private List<User> assignedStudents = new ArrayList<>();
     
@@ -107,6 +132,14 @@ public class User {
         this.department = department;
     }
     
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+    
     public User getAssignedTeacher() {
         return assignedTeacher;
     }
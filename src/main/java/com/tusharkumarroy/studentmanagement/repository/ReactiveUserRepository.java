@@ -0,0 +1,95 @@
+package com.tusharkumarroy.studentmanagement.repository;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of UserRepository's read-side finders for the reactive profile, in SQL:
+// the same columns, keyset conditions and order as the JPQL UserSummary queries.
+// Rows are emitted as the driver reads them, as fast as the subscriber requests them.
+@Repository
+@Profile("reactive")
+public class ReactiveUserRepository {
+    
+    private static final String SUMMARY = "select u.id, u.username, u.email, u.department, u.role,"
+            + " t.id as teacher_id, t.username as teacher_username,"
+            + " (select count(*) from users s where s.teacher_id = u.id) as student_count"
+            + " from users u left join users t on t.id = u.teacher_id";
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    public Flux<UserSummary> findPageOrderById(Role role, String department, long afterId, int limit) {
+        return query(SUMMARY + " where u.id > :afterId" + filters(role, department) + " order by u.id limit :limit",
+                role, department)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::summary)
+                .all();
+    }
+    
+    public Flux<UserSummary> findPageOrderByUsername(Role role, String department, String afterUsername, int limit) {
+        return query(SUMMARY + " where u.username > :afterUsername" + filters(role, department)
+                + " order by u.username limit :limit", role, department)
+                .bind("afterUsername", afterUsername)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::summary)
+                .all();
+    }
+    
+    public Flux<UserSummary> findPageOrderByDepartment(Role role, String department, String afterDepartment,
+                                                       long afterId, int limit) {
+        return query(SUMMARY + " where (u.department > :afterDepartment or (u.department = :afterDepartment"
+                + " and u.id > :afterId))" + filters(role, department) + " order by u.department, u.id limit :limit",
+                role, department)
+                .bind("afterDepartment", afterDepartment)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveUserRepository::summary)
+                .all();
+    }
+    
+    // Everything past afterId, in id order, for NDJSON streaming
+    public Flux<UserSummary> streamSummaries(Role role, String department, long afterId) {
+        return query(SUMMARY + " where u.id > :afterId" + filters(role, department) + " order by u.id", role, department)
+                .bind("afterId", afterId)
+                .map(ReactiveUserRepository::summary)
+                .all();
+    }
+    
+    public Mono<UserSummary> findSummaryById(Long id) {
+        return databaseClient.sql(SUMMARY + " where u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::summary)
+                .one();
+    }
+    
+    // Null role/department means "any"; only the filters in use are added (R2DBC needs a type to bind null)
+    private static String filters(Role role, String department) {
+        return (role != null ? " and u.role = :role" : "") + (department != null ? " and u.department = :department" : "");
+    }
+    
+    private DatabaseClient.GenericExecuteSpec query(String sql, Role role, String department) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (role != null) {
+            spec = spec.bind("role", role.name());
+        }
+        if (department != null) {
+            spec = spec.bind("department", department);
+        }
+        return spec;
+    }
+    
+    private static UserSummary summary(Readable row) {
+        return new UserSummary(row.get("id", Long.class), row.get("username", String.class), row.get("email", String.class),
+                row.get("department", String.class), Role.valueOf(row.get("role", String.class)),
+                row.get("teacher_id", Long.class), row.get("teacher_username", String.class),
+                row.get("student_count", Long.class));
+    }
+}
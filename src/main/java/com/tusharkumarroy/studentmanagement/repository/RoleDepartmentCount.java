@@ -0,0 +1,10 @@
+package com.tusharkumarroy.studentmanagement.repository;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+
+// One row of the users-per-role-and-department aggregate
+public interface RoleDepartmentCount {
+    Role getRole();
+    String getDepartment();
+    long getUsers();
+}
@@ -0,0 +1,7 @@
+package com.tusharkumarroy.studentmanagement.repository;
+
+// Number of teachers that have exactly `students` assigned students
+public interface TeacherLoadCount {
+    long getStudents();
+    long getTeachers();
+}
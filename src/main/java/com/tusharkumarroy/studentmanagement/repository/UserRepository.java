@@ -1,18 +1,158 @@
 package com.tusharkumarroy.studentmanagement.repository;
 
+import com.tusharkumarroy.studentmanagement.config.HibernateCacheConfig;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Single-user reads (detail, update, assign) all return the user with its teacher.
+    // A query rather than an entity graph: a find() served by the entity cache skips the
+    // graph and would leave the teacher an uninitialized proxy.
+    @Override
+    @Query("select u from User u left join fetch u.assignedTeacher where u.id = :id")
+    Optional<User> findById(@Param("id") Long id);
+    
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    List<User> findByRole(Role role);
-    List<User> findByRoleAndAssignedTeacherIsNull(Role role);
+    
+    // Bulk import checks a whole chunk of rows against existing users at once
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    List<UserTokenVersion> findByTokenVersionGreaterThan(long tokenVersion);
+    
+    // Keyset pages: each query seeks past the last row of the previous page, so deep
+    // pages cost the same as the first. Null role/department means "any".
+    // Rows are read as UserSummary projections: only the listed columns, the teacher's
+    // id and name through one outer join, and the student count as a subquery.
+    // Pages are served from the query cache (region "user-listings"). Hibernate drops a
+    // cached result as soon as the users table changes through JPA, bulk updates below
+    // included; the TTL also bounds writes made outside the application. A projection
+    // caches its column values, so a hit needs neither SQL nor entity lookups.
+    String SUMMARY = "select new com.tusharkumarroy.studentmanagement.dto.UserSummary("
+            + "u.id, u.username, u.email, u.department, u.role, t.id, t.username,"
+            + " (select count(s) from User s where s.assignedTeacher = u))"
+            + " from User u left join u.assignedTeacher t";
+    String FILTERS = " and (:role is null or u.role = :role) and (:department is null or u.department = :department)";
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LISTINGS)
+    })
+    @Query(SUMMARY + " where u.id > :afterId" + FILTERS + " order by u.id")
+    List<UserSummary> findPageOrderById(@Param("role") Role role, @Param("department") String department,
+                                        @Param("afterId") long afterId, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LISTINGS)
+    })
+    @Query(SUMMARY + " where u.username > :afterUsername" + FILTERS + " order by u.username")
+    List<UserSummary> findPageOrderByUsername(@Param("role") Role role, @Param("department") String department,
+                                              @Param("afterUsername") String afterUsername, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LISTINGS)
+    })
+    @Query(SUMMARY + " where (u.department > :afterDepartment or (u.department = :afterDepartment and u.id > :afterId))"
+            + FILTERS + " order by u.department, u.id")
+    List<UserSummary> findPageOrderByDepartment(@Param("role") Role role, @Param("department") String department,
+                                                @Param("afterDepartment") String afterDepartment, @Param("afterId") long afterId,
+                                                Limit limit);
+    
+    // Students without a teacher, for the dashboard's assignment form: their own keyset by
+    // id, so every one of them is reached however many assigned students sort before it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_LISTINGS)
+    })
+    @Query(SUMMARY + " where u.id > :afterId and u.role = STUDENT and u.assignedTeacher is null order by u.id")
+    List<UserSummary> findUnassignedPage(@Param("afterId") long afterId, Limit limit);
+    
+    // Whole-roster export. Rows are pulled from an open cursor fetchSize at a time instead of
+    // being materialized as a list; must be consumed (and closed) inside a transaction,
+    // which Postgres also needs to honour the fetch size.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY + " where 1 = 1" + FILTERS + " order by u.id")
+    Stream<UserSummary> streamSummaries(@Param("role") Role role, @Param("department") String department);
+    
+    // Search (GET /api/users/search): matches found by the in-memory index are read back by id;
+    // the LIKE query is the fallback when the index is disabled. pattern is lowercase, with
+    // % and _ escaped by a backslash.
+    @Query(SUMMARY + " where u.id in :ids")
+    List<UserSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY + " where (lower(u.username) like :pattern escape '\\' or lower(u.email) like :pattern escape '\\'"
+            + " or lower(u.department) like :pattern escape '\\') and (:role is null or u.role = :role) order by u.id")
+    List<UserSummary> searchSummaries(@Param("pattern") String pattern, @Param("role") Role role, Limit limit);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.id as id, u.username as username, u.email as email, u.department as department, u.role as role"
+            + " from User u order by u.id")
+    Stream<UserSearchFields> streamSearchFields();
+    
+    // Admin statistics: aggregates computed by the database, a few rows each
+    @Query("select u.role as role, u.department as department, count(u) as users from User u"
+            + " group by u.role, u.department order by u.role, u.department")
+    List<RoleDepartmentCount> countByRoleAndDepartment();
+    
+    // Histogram of students per teacher, teachers without students included
+    @Query("select l.students as students, count(*) as teachers from"
+            + " (select count(s.id) as students from User t left join User s on s.assignedTeacher = t"
+            + " where t.role = TEACHER group by t.id) l group by l.students order by l.students")
+    List<TeacherLoadCount> countTeachersByLoad();
+    
+    long countByRoleAndAssignedTeacherIsNull(Role role);
+    
+    boolean existsByIdAndRole(Long id, Role role);
+    
+    // Set-based assignment changes: one UPDATE however many students move. Roles are checked
+    // in the statement itself, so ids that are not students, or a target that is not a
+    // teacher, match no rows. Teachers are passed as references (getReferenceById), not loaded.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User s set s.assignedTeacher = :teacher where s.id in :studentIds and s.role = STUDENT"
+            + " and exists (select t.id from User t where t = :teacher and t.role = TEACHER)")
+    int assignStudents(@Param("studentIds") Collection<Long> studentIds, @Param("teacher") User teacher);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User s set s.assignedTeacher = :to where s.assignedTeacher = :from"
+            + " and exists (select t.id from User t where t = :to and t.role = TEACHER)")
+    int moveStudents(@Param("from") User from, @Param("to") User to);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User s set s.assignedTeacher = null where s.assignedTeacher = :teacher")
+    int unassignStudents(@Param("teacher") User teacher);
+    
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,12 @@
+package com.tusharkumarroy.studentmanagement.repository;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+
+// Columns the in-memory search index is built from
+public interface UserSearchFields {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    String getDepartment();
+    Role getRole();
+}
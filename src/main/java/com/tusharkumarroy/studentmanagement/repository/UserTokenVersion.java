@@ -0,0 +1,6 @@
+package com.tusharkumarroy.studentmanagement.repository;
+
+public interface UserTokenVersion {
+    Long getId();
+    long getTokenVersion();
+}
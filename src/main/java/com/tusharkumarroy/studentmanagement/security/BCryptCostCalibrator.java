@@ -0,0 +1,87 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Picks the BCrypt strength whose hashing time on this host stays within the
+// configured target. Each strength step doubles the work, so the search stops
+// as soon as the next step would overshoot.
+@Component
+public class BCryptCostCalibrator {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    
+    // Fixed strength; 0 means calibrate at startup
+    @Value("${password-hashing.strength:0}")
+    private int fixedStrength;
+    
+    @Value("${password-hashing.target-latency:250ms}")
+    private Duration targetLatency;
+    
+    @Value("${password-hashing.min-strength:10}")
+    private int minStrength;
+    
+    @Value("${password-hashing.max-strength:16}")
+    private int maxStrength;
+    
+    private int strength;
+    
+    @PostConstruct
+    void calibrate() {
+        if (fixedStrength > 0) {
+            strength = fixedStrength;
+            logger.info("BCrypt strength fixed at {}", strength);
+            return;
+        }
+        
+        long targetNanos = targetLatency.toNanos();
+        measureNanos(4); // warm up the JIT before timing anything
+        
+        int chosen = minStrength;
+        long chosenNanos = 0;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long elapsed = measureNanos(candidate);
+            if (elapsed > targetNanos && candidate > minStrength) {
+                break;
+            }
+            chosen = candidate;
+            chosenNanos = elapsed;
+            if (elapsed * 2 > targetNanos) {
+                break;
+            }
+        }
+        
+        strength = chosen;
+        logger.info("BCrypt strength calibrated to {} ({} ms per hash, target {} ms)",
+                strength, Duration.ofNanos(chosenNanos).toMillis(), targetLatency.toMillis());
+    }
+    
+    public int getStrength() {
+        return strength;
+    }
+    
+    // Reads the cost from a "$2a$10$..." hash; -1 when it is not a BCrypt hash
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private static long measureNanos(int candidate) {
+        String salt = BCrypt.gensalt(candidate);
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration-password", salt);
+        return System.nanoTime() - start;
+    }
+}
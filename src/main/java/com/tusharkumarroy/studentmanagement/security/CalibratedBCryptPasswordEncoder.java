@@ -0,0 +1,21 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// BCrypt at the calibrated strength. Unlike the stock encoder, which only upgrades
+// weaker hashes, any hash whose cost differs from the target is re-encoded on login.
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    
+    private final int strength;
+    
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+    
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        int current = BCryptCostCalibrator.strengthOf(encodedPassword);
+        return current != -1 && current != strength;
+    }
+}
@@ -1,31 +1,89 @@
 package com.tusharkumarroy.studentmanagement.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tusharkumarroy.studentmanagement.config.AfterCommit;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${user-cache.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${user-cache.ttl:5m}")
+    private Duration ttl;
+    
+    // UserPrincipal is immutable, so cached instances can be shared between logins
+    private Cache<String, UserDetails> cache;
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+    
     @Override
+    @Timed(value = "user.details.load", histogram = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Misses are not cached: the loader throws and nothing is stored
+        return cache.get(username, this::loadFromDatabase);
+    }
+    
+    private UserDetails loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        return UserPrincipal.fromUser(user);
+    }
+    
+    // Invoked by the authentication provider after a successful login whose stored
+    // hash uses a different BCrypt cost than the calibrated one
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        evict(user.getUsername());
+        
+        UserPrincipal principal = (UserPrincipal) user;
+        return new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(), newPassword,
+                principal.getRole(), principal.getTokenVersion());
+    }
+    
+    // Called by UserService whenever a user is created, changed or deleted
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.invalidate(username);
+        AfterCommit.run(() -> cache.invalidate(username));
+    }
+    
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
 }
@@ -7,14 +7,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,11 +22,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenVersionRegistry tokenVersions;
+    
+    @Autowired
+    private TokenDenylist denylist;
     
     @Override
-    protected void doFilterInternal(HttpServletRequest request, 
-                                    HttpServletResponse response, 
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
@@ -36,17 +38,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.info("Request URI: " + request.getRequestURI());
             logger.info("JWT Present: " + (jwt != null));
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt) ? jwtUtil.verify(jwt) : Optional.empty();
+            
+            if (claims.isPresent() && isActive(claims.get())) {
                 logger.info("JWT Valid: true");
-                logger.info("Username from token: " + username);
+                logger.info("Username from token: " + claims.get().getUsername());
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                logger.info("User loaded: " + userDetails.getUsername());
-                logger.info("Authorities: " + userDetails.getAuthorities());
+                // Authorities come from the verified claims; no user lookup per request
+                UserPrincipal principal = UserPrincipal.fromClaims(claims.get());
+                logger.info("Authorities: " + principal.getAuthorities());
                 
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -61,6 +64,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    // Version check covers whole-user revocation, the denylist single logged-out tokens
+    private boolean isActive(JwtClaims claims) {
+        return tokenVersions.isCurrent(claims.getUserId(), claims.getTokenVersion())
+                && !denylist.isRevoked(claims.getTokenId());
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
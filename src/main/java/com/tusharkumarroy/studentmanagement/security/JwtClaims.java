@@ -0,0 +1,59 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+
+import java.util.Date;
+
+// Claims of a token whose signature and expiry have already been verified
+public class JwtClaims {
+    
+    private final String tokenId;
+    private final String username;
+    private final Long userId;
+    private final Role role;
+    private final long tokenVersion;
+    private final Date issuedAt;
+    private final Date expiresAt;
+    
+    public JwtClaims(String tokenId, String username, Long userId, Role role, long tokenVersion, Date issuedAt, Date expiresAt) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.userId = userId;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.getTime() <= System.currentTimeMillis();
+    }
+}
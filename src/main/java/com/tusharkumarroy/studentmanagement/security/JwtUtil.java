@@ -1,66 +1,144 @@
 package com.tusharkumarroy.studentmanagement.security;
 
+import com.tusharkumarroy.studentmanagement.entity.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
     private String jwtSecret;
     
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Key and parser are immutable and thread-safe, so they are built once
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokens;
+    
+    private Timer signTimer;
+    private Timer cachedTimer;
+    private Timer verifiedTimer;
+    private Timer rejectedTimer;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxSize);
+        signTimer = jwtTimer("sign", "signed");
+        cachedTimer = jwtTimer("verify", "cached");
+        verifiedTimer = jwtTimer("verify", "verified");
+        rejectedTimer = jwtTimer("verify", "rejected");
     }
     
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername())
+        // Role, id and token version let requests authenticate without a user lookup
+        // The id (jti) lets a single token be revoked through the TokenDenylist
+        return signTimer.record(() -> Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getUsername())
+                .claim(USER_ID_CLAIM, principal.getId())
+                .claim(ROLE_CLAIM, principal.getRole().name())
+                .claim(TOKEN_VERSION_CLAIM, principal.getTokenVersion())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact());
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies signature and expiry once and returns the typed claims.
+    // Tokens seen before are answered from the cache without touching the signature.
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        long start = System.nanoTime();
+        JwtClaims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
+        }
         
-        return claims.getSubject();
-    }
-    
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            Claims body = jwtParser.parseClaimsJws(token).getBody();
+            JwtClaims claims = toClaims(body);
+            verifiedTokens.put(token, claims);
+            verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             logger.debug("JWT token validation successful");
-            return true;
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             logger.error("JWT validation failed: " + e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
+    
+    private JwtClaims toClaims(Claims body) {
+        Number userId = body.get(USER_ID_CLAIM, Number.class);
+        String role = body.get(ROLE_CLAIM, String.class);
+        Number tokenVersion = body.get(TOKEN_VERSION_CLAIM, Number.class);
+        if (body.getId() == null || userId == null || role == null || tokenVersion == null) {
+            throw new JwtException("JWT is missing user claims");
+        }
+        
+        return new JwtClaims(body.getId(), body.getSubject(), userId.longValue(), Role.valueOf(role), tokenVersion.longValue(),
+                body.getIssuedAt(), body.getExpiration());
+    }
+    
+    public String getUsernameFromToken(String token) {
+        return verify(token)
+                .map(JwtClaims::getUsername)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+    
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+    
+    // Outcome of verify: cached (seen before, no signature check), verified or rejected
+    private Timer jwtTimer(String operation, String outcome) {
+        return Timer.builder("jwt")
+                .description("JWT signing and verification latency")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,113 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Admission control for login and register, checked before any BCrypt work.
+// One token bucket per client IP and one per username. Buckets are only dropped once
+// idle longer than a full refill, which loses nothing. A bucket in use is never evicted
+// for room: when max-keys buckets exist, new keys are refused until some expire, so
+// spraying fresh IPs or usernames cannot push a throttled key out and reset it.
+@Component
+public class LoginRateLimiter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+    
+    @Value("${rate-limit.ip.period:1m}")
+    private Duration ipPeriod;
+    
+    @Value("${rate-limit.username.capacity:5}")
+    private int usernameCapacity;
+    
+    @Value("${rate-limit.username.period:1m}")
+    private Duration usernamePeriod;
+    
+    @Value("${rate-limit.max-keys:100000}")
+    private long maxKeys;
+    
+    private Cache<String, TokenBucket> ipBuckets;
+    private Cache<String, TokenBucket> usernameBuckets;
+    private Counter ipRejections;
+    private Counter usernameRejections;
+    
+    @PostConstruct
+    void init() {
+        ipBuckets = newBuckets(ipPeriod);
+        usernameBuckets = newBuckets(usernamePeriod);
+        ipRejections = rejections("ip");
+        usernameRejections = rejections("username");
+    }
+    
+    // Throws RateLimitExceededException when either the client or the username is over budget
+    public void check(String clientIp, String username) {
+        long now = System.nanoTime();
+        
+        if (clientIp != null) {
+            long wait = acquire(ipBuckets, clientIp, ipCapacity, ipPeriod, now);
+            if (wait > 0) {
+                ipRejections.increment();
+                throw new RateLimitExceededException(toRetryAfterSeconds(wait));
+            }
+        }
+        
+        if (username != null) {
+            long wait = acquire(usernameBuckets, username.toLowerCase(Locale.ROOT), usernameCapacity, usernamePeriod, now);
+            if (wait > 0) {
+                usernameRejections.increment();
+                throw new RateLimitExceededException(toRetryAfterSeconds(wait));
+            }
+        }
+    }
+    
+    private long acquire(Cache<String, TokenBucket> buckets, String key, int capacity, Duration period, long now) {
+        long interval = period.toNanos() / capacity;
+        TokenBucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            if (isFull(buckets)) {
+                return interval;
+            }
+            bucket = buckets.get(key, k -> new TokenBucket(capacity, interval, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+    
+    // The estimate also counts expired buckets not yet cleaned up, so they are dropped before refusing
+    private boolean isFull(Cache<String, TokenBucket> buckets) {
+        if (buckets.estimatedSize() < maxKeys) {
+            return false;
+        }
+        buckets.cleanUp();
+        return buckets.estimatedSize() >= maxKeys;
+    }
+    
+    private Cache<String, TokenBucket> newBuckets(Duration period) {
+        return Caffeine.newBuilder()
+                .expireAfterAccess(period)
+                .build();
+    }
+    
+    private Counter rejections(String key) {
+        return Counter.builder("auth.rate_limit.rejected")
+                .description("Login and register attempts rejected by the rate limiter")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+    
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
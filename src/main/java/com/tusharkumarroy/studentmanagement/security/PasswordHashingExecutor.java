@@ -0,0 +1,82 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.config.Workload;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Dedicated pool for BCrypt work (hashing and login verification), sized to the
+// number of cores with a bounded queue. When it is full, work is rejected at once
+// instead of piling up on request threads.
+@Component
+public class PasswordHashingExecutor {
+    
+    private static final ThreadLocal<Boolean> ON_POOL = ThreadLocal.withInitial(() -> false);
+    
+    @Value("${password-hashing.pool-size:0}")
+    private int poolSize;
+    
+    @Value("${password-hashing.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(() -> {
+                        ON_POOL.set(true);
+                        task.run();
+                    }, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            // Login looks the user up on the pool thread, from the caller's connection pool
+            return CompletableFuture.supplyAsync(Workload.propagate(work), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PasswordHashingUnavailableException(retryAfterSeconds));
+        }
+    }
+    
+    public boolean isHashingThread() {
+        return ON_POOL.get();
+    }
+    
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+    
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+    
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+}
@@ -0,0 +1,16 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+// Thrown when the password hashing pool is saturated; mapped to 503 with Retry-After
+public class PasswordHashingUnavailableException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Server is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
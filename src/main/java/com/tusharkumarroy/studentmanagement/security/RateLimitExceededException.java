@@ -0,0 +1,16 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+// Thrown when a client or username has used up its login/register budget; mapped to 429 with Retry-After
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many attempts, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
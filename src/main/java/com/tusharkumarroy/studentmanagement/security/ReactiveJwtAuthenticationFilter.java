@@ -0,0 +1,51 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+// JwtAuthenticationFilter for WebFlux: the same verification (signature through the
+// verified-token cache, token version, denylist), all in memory, so it runs on the
+// event loop. Revocations are made on the servlet deployment and reach this node's
+// registry and denylist through TokenRevocationLog, within its poll interval.
+// A request without a valid token continues unauthenticated.
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+    
+    private final JwtUtil jwtUtil;
+    private final TokenVersionRegistry tokenVersions;
+    private final TokenDenylist denylist;
+    
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil, TokenVersionRegistry tokenVersions, TokenDenylist denylist) {
+        this.jwtUtil = jwtUtil;
+        this.tokenVersions = tokenVersions;
+        this.denylist = denylist;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        Optional<JwtClaims> claims = jwtUtil.verify(bearerToken.substring(7));
+        if (claims.isEmpty() || !isActive(claims.get())) {
+            return chain.filter(exchange);
+        }
+        UserPrincipal principal = UserPrincipal.fromClaims(claims.get());
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+    
+    private boolean isActive(JwtClaims claims) {
+        return tokenVersions.isCurrent(claims.getUserId(), claims.getTokenVersion())
+                && !denylist.isRevoked(claims.getTokenId());
+    }
+}
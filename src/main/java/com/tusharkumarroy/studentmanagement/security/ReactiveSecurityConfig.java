@@ -0,0 +1,45 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.security.autoconfigure.actuate.web.reactive.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+
+// Security for the reactive profile, which serves only the authenticated read API;
+// tokens are issued by the servlet deployment (same jwt.secret)
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+    
+    @Bean
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+                                                      TokenVersionRegistry tokenVersions, TokenDenylist denylist,
+                                                      Environment environment) {
+        // As in SecurityConfig: Prometheus scrapes without a token only on the separate management port
+        ServerWebExchangeMatcher scrape = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                ? EndpointRequest.to("prometheus") : exchange -> ServerWebExchangeMatcher.MatchResult.notMatch();
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/", "/health", "/index.html", "/dashboard.html", "/css/**", "/js/**").permitAll()
+                        .matchers(EndpointRequest.to("health")).permitAll()
+                        .matchers(scrape).permitAll()
+                        .matchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtUtil, tokenVersions, denylist),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
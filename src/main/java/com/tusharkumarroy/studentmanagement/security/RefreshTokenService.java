@@ -0,0 +1,124 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tusharkumarroy.studentmanagement.entity.RefreshToken;
+import com.tusharkumarroy.studentmanagement.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+// Opaque, single-use refresh tokens. The table holds SHA-256 digests only; recently
+// issued tokens are also kept in memory until they expire, so a refresh normally
+// costs one map lookup plus the delete that consumes the token. Revocation is the
+// TokenVersionRegistry check, so no token has to be looked up to cut a user off.
+@Service
+public class RefreshTokenService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${jwt.refresh-token.expiration:1209600000}")
+    private long expiration;
+    
+    @Value("${jwt.refresh-token.cache-max-size:10000}")
+    private long cacheMaxSize;
+    
+    private Cache<String, RefreshToken> cache;
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, RefreshToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, RefreshToken token, long currentTime) {
+                        return Math.max(Duration.between(Instant.now(), token.getExpiresAt()).toNanos(), 0);
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, RefreshToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, RefreshToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "refreshTokens");
+    }
+    
+    public String issue(UserPrincipal principal) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        RefreshToken stored = new RefreshToken(TokenDigest.sha256(token), principal.getId(), principal.getUsername(),
+                principal.getEmail(), principal.getRole(), principal.getTokenVersion(), Instant.now().plusMillis(expiration));
+        refreshTokenRepository.save(stored);
+        cache.put(stored.getTokenHash(), stored);
+        return token;
+    }
+    
+    // Consumes the token: each refresh token can be exchanged exactly once
+    public Optional<UserPrincipal> consume(String token) {
+        String hash = TokenDigest.sha256(token);
+        RefreshToken stored = cache.asMap().remove(hash);
+        if (stored == null) {
+            stored = refreshTokenRepository.findByTokenHash(hash).orElse(null);
+        }
+        if (stored == null || refreshTokenRepository.deleteByTokenHash(hash) == 0) {
+            return Optional.empty();
+        }
+        if (stored.isExpired() || !tokenVersions.isCurrent(stored.getUserId(), stored.getTokenVersion())) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserPrincipal(stored.getUserId(), stored.getUsername(), stored.getEmail(), null,
+                stored.getRole(), stored.getTokenVersion()));
+    }
+    
+    public void revoke(String token) {
+        String hash = TokenDigest.sha256(token);
+        cache.invalidate(hash);
+        refreshTokenRepository.deleteByTokenHash(hash);
+    }
+    
+    // Tokens are already rejected through their version; this only drops the rows
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+}
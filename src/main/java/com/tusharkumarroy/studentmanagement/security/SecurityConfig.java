@@ -1,34 +1,53 @@
 package com.tusharkumarroy.studentmanagement.security;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.authentication.configuration.EnableGlobalAuthentication;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
+// Password hashing and authentication, for both stacks; request security for the servlet
+// stack is below, the reactive profile's is in ReactiveSecurityConfig
 @Configuration
-@EnableWebSecurity
-@EnableMethodSecurity
+@EnableGlobalAuthentication
 public class SecurityConfig {
     
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
     @Autowired
-    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private BCryptCostCalibrator bcryptCostCalibrator;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptCostCalibrator.getStrength();
+        Gauge.builder("password.hash.strength", () -> strength)
+                .description("BCrypt strength used for new hashes")
+                .register(meterRegistry);
+        return new OffloadingPasswordEncoder(new CalibratedBCryptPasswordEncoder(strength), passwordHashingExecutor, meterRegistry);
     }
     
     @Bean
@@ -36,21 +55,44 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
     
-    @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        http
-            .csrf(csrf -> csrf.disable())
-            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/health", "/index.html", "/dashboard.html", "/css/**", "/js/**").permitAll()
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                .requestMatchers("/api/students/**", "/api/teachers/**").authenticated()
-                .anyRequest().authenticated()
-            );
+    @Configuration
+    @Profile("!reactive")
+    @EnableWebSecurity
+    @EnableMethodSecurity
+    static class ServletSecurityConfig {
+        
+        @Autowired
+        private JwtAuthenticationFilter jwtAuthenticationFilter;
         
-        http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        @Autowired
+        private Environment environment;
         
-        return http.build();
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            // Prometheus scrapes without a token, so only on the separate management port (never
+            // published); when actuator shares the application port it needs ADMIN like the rest
+            RequestMatcher scrape = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT
+                    ? EndpointRequest.to("prometheus") : request -> false;
+            http
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                    // Async dispatches only complete a response whose request was already
+                    // authorized (async login, streamed exports); the JWT is not re-read for them
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/", "/health", "/index.html", "/dashboard.html", "/css/**", "/js/**").permitAll()
+                    .requestMatchers("/api/auth/**").permitAll()
+                    .requestMatchers(EndpointRequest.to("health")).permitAll()
+                    .requestMatchers(scrape).permitAll()
+                    .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                    .requestMatchers("/api/students/**", "/api/teachers/**").authenticated()
+                    .anyRequest().authenticated()
+                );
+            
+            http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            
+            return http.build();
+        }
     }
 }
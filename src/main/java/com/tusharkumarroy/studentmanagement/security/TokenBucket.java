@@ -0,0 +1,35 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free token bucket in its "virtual scheduling" form (GCRA): the whole state is
+// the time at which the bucket would be full again, updated with a single CAS.
+// Holds `capacity` tokens and refills one every `refillIntervalNanos`.
+class TokenBucket {
+    
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+    
+    TokenBucket(int capacity, long refillIntervalNanos, long nowNanos) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstNanos = capacity * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+    
+    // Returns 0 when a token was taken, otherwise the nanoseconds until one is available
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + refillIntervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
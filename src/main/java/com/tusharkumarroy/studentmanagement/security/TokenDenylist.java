@@ -0,0 +1,93 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Ids (jti) of access tokens revoked before their expiry, e.g. on logout.
+// Entries are grouped into buckets by the token's expiry time, so purging is
+// dropping whole buckets once they are in the past. A Bloom filter in front
+// answers "never revoked" for almost every token without touching the buckets.
+@Component
+public class TokenDenylist {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${jwt.denylist.bucket-width:PT1M}")
+    private Duration bucketWidth;
+    
+    @Value("${jwt.denylist.expected-size:100000}")
+    private long expectedSize;
+    
+    @Value("${jwt.denylist.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+    
+    // Bucket end (epoch millis) -> ids of tokens expiring before it
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    
+    // Replaced wholesale on purge; writers synchronize, readers just read the reference
+    private volatile BloomFilter filter;
+    
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedSize, falsePositiveRate);
+        Gauge.builder("jwt.denylist.size", this, TokenDenylist::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+    
+    public synchronized void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        long width = bucketWidth.toMillis();
+        long bucketEnd = (expiresAtMillis / width + 1) * width;
+        buckets.computeIfAbsent(bucketEnd, end -> ConcurrentHashMap.newKeySet()).add(tokenId);
+        filter.put(tokenId);
+    }
+    
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        // Buckets already in the past only hold expired tokens, which are rejected anyway
+        for (Set<String> bucket : buckets.tailMap(System.currentTimeMillis()).values()) {
+            if (bucket.contains(tokenId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Drops expired buckets and rebuilds the filter so its false-positive rate stays low
+    @Scheduled(fixedDelayString = "${jwt.denylist.bucket-width:PT1M}")
+    public synchronized void purgeExpired() {
+        ConcurrentNavigableMap<Long, Set<String>> expired = buckets.headMap(System.currentTimeMillis(), true);
+        if (expired.isEmpty()) {
+            return;
+        }
+        expired.clear();
+        
+        BloomFilter rebuilt = new BloomFilter(expectedSize, falsePositiveRate);
+        for (Map.Entry<Long, Set<String>> bucket : buckets.entrySet()) {
+            bucket.getValue().forEach(rebuilt::put);
+        }
+        filter = rebuilt;
+    }
+    
+    public int size() {
+        return buckets.values().stream().mapToInt(Set::size).sum();
+    }
+}
@@ -0,0 +1,27 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+// SHA-256 of a token, used wherever tokens are stored or looked up by value
+public final class TokenDigest {
+    
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    private TokenDigest() {}
+    
+    public static String sha256(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.config.AfterCommit;
+import com.tusharkumarroy.studentmanagement.entity.TokenRevocation;
+import com.tusharkumarroy.studentmanagement.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Revocations shared between nodes, servlet and reactive alike. Each one is written to
+// token_revocations in the caller's transaction and applied to this node's
+// TokenVersionRegistry and TokenDenylist after commit; every node polls the table for
+// what the others wrote, so a logout, role change or delete on one node is enforced
+// on all of them within jwt.revocations.poll-interval.
+@Component
+public class TokenRevocationLog {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationLog.class);
+    
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+    
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+    
+    @Autowired
+    private TokenDenylist denylist;
+    
+    // Access token lifetime: a user's revocation is kept until every older token has expired
+    @Value("${jwt.expiration:86400000}")
+    private long accessTokenExpiration;
+    
+    // Each poll also re-reads this far back, for late commits and clock skew between nodes
+    @Value("${jwt.revocations.poll-overlap:PT1M}")
+    private Duration pollOverlap;
+    
+    private volatile Instant polledAt;
+    
+    // Revocations still in force, including deleted users, which the users table no longer shows
+    @PostConstruct
+    void replay() {
+        polledAt = Instant.now();
+        revocationRepository.findByExpiresAtAfter(polledAt).forEach(this::apply);
+    }
+    
+    // Tokens issued before tokenVersion stop working
+    public void publishVersion(Long userId, long tokenVersion) {
+        revocationRepository.save(TokenRevocation.ofUser(userId, tokenVersion, userRevocationExpiry()));
+        tokenVersions.publish(userId, tokenVersion);
+    }
+    
+    // Every token of the user stops working, e.g. once the user is deleted
+    public void revokeUser(Long userId) {
+        revocationRepository.save(TokenRevocation.ofUser(userId, null, userRevocationExpiry()));
+        tokenVersions.revokeAll(userId);
+    }
+    
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revocationRepository.save(TokenRevocation.ofToken(tokenId, Instant.ofEpochMilli(expiresAtMillis)));
+        AfterCommit.run(() -> denylist.revoke(tokenId, expiresAtMillis));
+    }
+    
+    // Applying a revocation twice is harmless, so overlapping polls need no bookkeeping
+    @Scheduled(fixedDelayString = "${jwt.revocations.poll-interval:PT5S}")
+    public void poll() {
+        Instant started = Instant.now();
+        revocationRepository.findByRecordedAtGreaterThanEqual(polledAt.minus(pollOverlap)).forEach(this::apply);
+        polledAt = started;
+    }
+    
+    @Scheduled(fixedDelayString = "${jwt.revocations.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = revocationRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired token revocations", purged);
+        }
+    }
+    
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getTokenId() != null) {
+            denylist.revoke(revocation.getTokenId(), revocation.getExpiresAt().toEpochMilli());
+        } else if (revocation.getTokenVersion() == null) {
+            tokenVersions.revokeAll(revocation.getUserId());
+        } else {
+            tokenVersions.publish(revocation.getUserId(), revocation.getTokenVersion());
+        }
+    }
+    
+    private Instant userRevocationExpiry() {
+        return Instant.now().plusMillis(accessTokenExpiration);
+    }
+}
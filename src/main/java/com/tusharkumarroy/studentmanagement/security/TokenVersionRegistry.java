@@ -0,0 +1,48 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.config.AfterCommit;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.repository.UserTokenVersion;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Current token version of every user whose version has ever moved past 0.
+// Tokens carry the version they were issued with; a token is only rejected when
+// its user appears here with a newer version, so the common case is a single
+// map miss and no database access.
+@Component
+public class TokenVersionRegistry {
+    
+    // Marks users whose tokens must never be accepted again (e.g. deleted users)
+    private static final long REVOKED = Long.MAX_VALUE;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void loadChangedVersions() {
+        for (UserTokenVersion changed : userRepository.findByTokenVersionGreaterThan(0L)) {
+            versions.put(changed.getId(), changed.getTokenVersion());
+        }
+    }
+    
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        Long current = versions.get(userId);
+        return current == null || tokenVersion >= current;
+    }
+    
+    // Applied once the surrounding transaction commits, so a rollback never revokes tokens
+    public void publish(Long userId, long tokenVersion) {
+        AfterCommit.run(() -> versions.merge(userId, tokenVersion, Math::max));
+    }
+    
+    public void revokeAll(Long userId) {
+        AfterCommit.run(() -> versions.put(userId, REVOKED));
+    }
+}
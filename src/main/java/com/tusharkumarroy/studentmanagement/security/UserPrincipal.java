@@ -0,0 +1,81 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Authenticated user as seen by Spring Security. Built from the database at login
+// and straight from verified JWT claims on every other request.
+public class UserPrincipal implements UserDetails {
+    
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final long tokenVersion;
+    private final List<GrantedAuthority> authorities;
+    
+    public UserPrincipal(Long id, String username, String email, String password, Role role, long tokenVersion) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+    
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getRole(), user.getTokenVersion());
+    }
+    
+    public static UserPrincipal fromClaims(JwtClaims claims) {
+        return new UserPrincipal(claims.getUserId(), claims.getUsername(), null, null,
+                claims.getRole(), claims.getTokenVersion());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    // Only known when loaded from the database (login), not from token claims
+    public String getEmail() {
+        return email;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+    
+    @Override
+    public String getPassword() {
+        return password;
+    }
+    
+    @Override
+    public String getUsername() {
+        return username;
+    }
+    
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + ", role=" + role + "]";
+    }
+}
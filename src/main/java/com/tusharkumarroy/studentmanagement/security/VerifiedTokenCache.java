@@ -0,0 +1,59 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+
+// Tokens that already passed signature verification, keyed by SHA-256 digest.
+// Entries expire together with the token itself.
+class VerifiedTokenCache {
+    
+    private final Cache<String, JwtClaims> cache;
+    
+    VerifiedTokenCache(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
+    JwtClaims get(String token) {
+        JwtClaims claims = cache.getIfPresent(TokenDigest.sha256(token));
+        if (claims != null && claims.isExpired()) {
+            return null;
+        }
+        return claims;
+    }
+    
+    void put(String token, JwtClaims claims) {
+        if (claims.getExpiresAt() != null && !claims.isExpired()) {
+            cache.put(TokenDigest.sha256(token), claims);
+        }
+    }
+    
+    long size() {
+        return cache.estimatedSize();
+    }
+    
+    private static long remainingNanos(JwtClaims claims) {
+        long remainingMillis = claims.getExpiresAt().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+}
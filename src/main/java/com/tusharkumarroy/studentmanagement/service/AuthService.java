@@ -6,6 +6,10 @@ import com.tusharkumarroy.studentmanagement.dto.RegisterRequest;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
 import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingExecutor;
+import com.tusharkumarroy.studentmanagement.security.RefreshTokenService;
+import com.tusharkumarroy.studentmanagement.security.TokenRevocationLog;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,6 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class AuthService {
     
@@ -28,7 +34,23 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
     
-    public User register(RegisterRequest request) {
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenRevocationLog revocations;
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private UserSearchIndex searchIndex;
+    
+    // Validation runs on the caller's thread; hashing and the insert complete on the hashing pool
+    public CompletableFuture<User> register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
@@ -39,24 +61,56 @@ public class AuthService {
         
         User user = new User();
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setEmail(request.getEmail());
         user.setDepartment(request.getDepartment());
         user.setRole(request.getRole());
         
-        return userRepository.save(user);
+        return passwordHashingExecutor.submit(() -> {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            User saved = userRepository.save(user);
+            rosterVersion.bump();
+            searchIndex.put(saved);
+            return saved;
+        });
     }
     
-    public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        
-        String token = jwtUtil.generateToken(authentication);
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+            
+            String token = jwtUtil.generateToken(authentication);
+            
+            // The authenticated principal already holds everything the response needs
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            LoginResponse response = new LoginResponse(token, principal.getUsername(), principal.getEmail(), principal.getRole().name());
+            response.setRefreshToken(refreshTokenService.issue(principal));
+            return response;
+        });
+    }
+    
+    // Exchanges a refresh token for a new access/refresh pair; no password check, so no BCrypt
+    public LoginResponse refresh(String refreshToken) {
+        UserPrincipal principal = refreshTokenService.consume(refreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
         
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        String token = jwtUtil.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
         
-        return new LoginResponse(token, user.getUsername(), user.getEmail(), user.getRole().name());
+        LoginResponse response = new LoginResponse(token, principal.getUsername(), principal.getEmail(), principal.getRole().name());
+        response.setRefreshToken(refreshTokenService.issue(principal));
+        return response;
+    }
+    
+    // Ends one session: the access token is denylisted on every node until it expires, the refresh token is deleted
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            jwtUtil.verify(accessToken)
+                    .ifPresent(claims -> revocations.revokeToken(claims.getTokenId(), claims.getExpiresAt().getTime()));
+        }
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 }
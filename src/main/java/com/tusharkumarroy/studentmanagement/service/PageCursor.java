@@ -0,0 +1,68 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// Position in a keyset-paginated listing: the last row's sort value and id.
+// Cursor = base64url("<sort value>\n<id>"); opaque to clients. Shared by the
+// servlet (UserService) and reactive (ReactiveUserService) listings.
+public final class PageCursor {
+    
+    private final String sortValue;
+    private final long id;
+    
+    private PageCursor(String sortValue, long id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+    
+    public String getSortValue() {
+        return sortValue;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    // null or empty = first page
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('\n');
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new PageCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
+    public static String encode(String sortValue, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortValue + "\n" + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // rows were fetched with a limit of pageSize + 1: the extra row tells whether another page follows
+    public static PageResponse<UserSummary> page(List<UserSummary> rows, int pageSize, UserSort sort) {
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<UserSummary> page = rows.subList(0, pageSize);
+        UserSummary last = page.get(pageSize - 1);
+        String sortValue = switch (sort) {
+            case ID -> "";
+            case USERNAME -> last.getUsername();
+            case DEPARTMENT -> last.getDepartment();
+        };
+        return new PageResponse<>(List.copyOf(page), encode(sortValue, last.getId()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read side of UserService for the reactive profile: the same keyset pages and cursors,
+// built without blocking a thread on the database
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+    
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+    
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
+    
+    // Same contract as UserService.getUsersPage
+    public Mono<PageResponse<UserSummary>> getUsersPage(Role role, String department, UserSort sort, String cursor,
+                                                        Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+        return page(role, department, sort, after, pageSize)
+                .collectList()
+                .map(rows -> PageCursor.page(rows, pageSize, sort));
+    }
+    
+    // Every user after the cursor in id order, emitted as rows arrive; no page size applies
+    public Flux<UserSummary> streamUsers(Role role, String department, String cursor) {
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (RuntimeException e) {
+            return Flux.error(e);
+        }
+        return reactiveUserRepository.streamSummaries(role, department, after == null ? 0L : after.getId());
+    }
+    
+    // Empty when there is no such user; database failures are emitted as errors
+    public Mono<UserSummary> getUserById(Long id) {
+        return reactiveUserRepository.findSummaryById(id);
+    }
+    
+    // One extra row tells whether another page follows
+    private Flux<UserSummary> page(Role role, String department, UserSort sort, PageCursor after, int pageSize) {
+        int limit = pageSize + 1;
+        return switch (sort) {
+            case ID -> reactiveUserRepository.findPageOrderById(role, department,
+                    after == null ? 0L : after.getId(), limit);
+            case USERNAME -> reactiveUserRepository.findPageOrderByUsername(role, department,
+                    after == null ? "" : after.getSortValue(), limit);
+            case DEPARTMENT -> reactiveUserRepository.findPageOrderByDepartment(role, department,
+                    after == null ? "" : after.getSortValue(), after == null ? 0L : after.getId(), limit);
+        };
+    }
+}
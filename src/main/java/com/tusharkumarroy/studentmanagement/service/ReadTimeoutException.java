@@ -0,0 +1,9 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+// Thrown when a shared read did not finish in time; mapped to 503
+public class ReadTimeoutException extends RuntimeException {
+    
+    public ReadTimeoutException() {
+        super("Server is busy, please retry shortly");
+    }
+}
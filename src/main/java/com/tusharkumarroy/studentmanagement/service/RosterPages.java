@@ -0,0 +1,74 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Listing responses of PublicController and AdminController. Each answers 304 when
+// If-None-Match carries the current roster version, before any query runs; otherwise
+// the page is sent as JSON that the client must revalidate before reusing.
+@Component
+public class RosterPages {
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private RosterReadCoalescer rosterReads;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    // Request parameters as the controllers take them; invalid ones answer 400
+    public ResponseEntity<?> page(Role role, String department, String sort, String cursor, Integer size, String fields,
+                                  WebRequest request) {
+        try {
+            Set<String> selected = UserSummary.parseFields(fields);
+            UserSort userSort = UserSort.from(sort);
+            return respond(request, () -> rosterReads.page(role, department, userSort, cursor, size, selected));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    public ResponseEntity<?> unassignedStudents(String cursor, Integer size, String fields, WebRequest request) {
+        try {
+            Set<String> selected = UserSummary.parseFields(fields);
+            return respond(request, () -> {
+                PageResponse<UserSummary> page = userService.getUnassignedStudentsPage(cursor, size);
+                return jsonMapper.writeValueAsBytes(selected == null ? page : page.map(summary -> summary.select(selected)));
+            });
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    private ResponseEntity<?> respond(WebRequest request, Supplier<byte[]> page) {
+        if (request.checkNotModified(rosterVersion.etag())) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(page.get());
+        } catch (ReadTimeoutException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Listing pages for the roster endpoints. When many users open the dashboard at once,
+// identical concurrent requests share one query and one serialized JSON body.
+// The key holds the caller's authorities, so callers only share with callers entitled
+// to the same view, and the roster version, so a read that starts after a write never
+// joins one that started before it.
+@Service
+public class RosterReadCoalescer {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Value("${roster-reads.coalesce-timeout:5s}")
+    private Duration timeout;
+    
+    private SingleFlight<PageKey, byte[]> pages;
+    
+    @PostConstruct
+    void init() {
+        pages = new SingleFlight<>(timeout);
+    }
+    
+    // JSON of one listing page, as UserService.getUsersPage narrowed to fields (null = all)
+    public byte[] page(Role role, String department, UserSort sort, String cursor, Integer size, Set<String> fields) {
+        PageKey key = new PageKey(authorities(), rosterVersion.current(), role, department, sort, cursor, size,
+                fields == null ? null : List.copyOf(fields));
+        return pages.execute(key, () -> {
+            PageResponse<UserSummary> page = userService.getUsersPage(role, department, sort, cursor, size);
+            return jsonMapper.writeValueAsBytes(fields == null ? page : page.map(summary -> summary.select(fields)));
+        });
+    }
+    
+    private static Set<String> authorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Set.of();
+        }
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+    
+    // fields is a list: the order of the requested fields is the order in the JSON
+    private record PageKey(Set<String> authorities, long rosterVersion, Role role, String department, UserSort sort,
+                           String cursor, Integer size, List<String> fields) {}
+}
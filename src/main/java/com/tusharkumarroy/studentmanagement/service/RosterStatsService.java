@@ -0,0 +1,105 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.RosterStats;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.repository.RoleDepartmentCount;
+import com.tusharkumarroy.studentmanagement.repository.TeacherLoadCount;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin statistics from three aggregate queries. The result is kept until the roster
+// version moves (every write through UserService bumps it), so repeated dashboard loads
+// cost nothing, and concurrent loads after a write share one recomputation.
+@Service
+public class RosterStatsService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${roster-reads.coalesce-timeout:5s}")
+    private Duration timeout;
+    
+    private SingleFlight<Long, RosterStats> computations;
+    
+    // The three queries read one snapshot (repeatable read: Postgres' read committed would take
+    // one per statement), and being read-only they may go to the replica
+    private TransactionTemplate snapshot;
+    
+    // Latest result and the roster version it was computed at
+    private volatile Cached cached;
+    
+    @PostConstruct
+    void init() {
+        computations = new SingleFlight<>(timeout);
+        snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    public RosterStats getStats() {
+        // Read before querying: a write committing meanwhile moves the version on, so a
+        // result is never filed under a newer version than the data it saw
+        long version = rosterVersion.current();
+        Cached current = cached;
+        if (current != null && current.version == version) {
+            return current.stats;
+        }
+        RosterStats stats = computations.execute(version, () -> snapshot.execute(status -> compute()));
+        cached = new Cached(version, stats);
+        return stats;
+    }
+    
+    private RosterStats compute() {
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            byRole.put(role, 0L);
+        }
+        List<RosterStats.DepartmentCount> byDepartment = new ArrayList<>();
+        long total = 0;
+        for (RoleDepartmentCount row : userRepository.countByRoleAndDepartment()) {
+            byDepartment.add(new RosterStats.DepartmentCount(row.getDepartment(), row.getRole(), row.getUsers()));
+            byRole.merge(row.getRole(), row.getUsers(), Long::sum);
+            total += row.getUsers();
+        }
+        
+        return new RosterStats(total, byRole, byDepartment,
+                userRepository.countByRoleAndAssignedTeacherIsNull(Role.STUDENT), teacherLoad());
+    }
+    
+    // min/avg/max follow from the histogram, which has one row per distinct load
+    private RosterStats.TeacherLoad teacherLoad() {
+        List<RosterStats.LoadBucket> histogram = new ArrayList<>();
+        long teachers = 0;
+        long students = 0;
+        for (TeacherLoadCount row : userRepository.countTeachersByLoad()) {
+            histogram.add(new RosterStats.LoadBucket(row.getStudents(), row.getTeachers()));
+            teachers += row.getTeachers();
+            students += row.getStudents() * row.getTeachers();
+        }
+        if (histogram.isEmpty()) {
+            return new RosterStats.TeacherLoad(0, 0, 0, 0, histogram);
+        }
+        return new RosterStats.TeacherLoad(teachers, histogram.get(0).getStudents(), (double) students / teachers,
+                histogram.get(histogram.size() - 1).getStudents(), histogram);
+    }
+    
+    private record Cached(long version, RosterStats stats) {}
+}
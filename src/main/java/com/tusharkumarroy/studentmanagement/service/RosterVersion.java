@@ -0,0 +1,30 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.config.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Version of the user roster as a whole, moved forward after every committed write that
+// can change a listing. Listings send it as their ETag, so a client that already holds
+// the current version gets 304 without the roster being read or serialized.
+// Starts at the startup time so versions handed out before a restart are never reused.
+@Component
+public class RosterVersion {
+    
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    
+    public long current() {
+        return version.get();
+    }
+    
+    public String etag() {
+        return "\"roster-" + version.get() + "\"";
+    }
+    
+    // Applied once the surrounding transaction commits: a listing that read the old version
+    // before the commit can only be tagged as older than its data, never newer
+    public void bump() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+}
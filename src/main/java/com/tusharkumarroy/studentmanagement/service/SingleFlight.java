@@ -0,0 +1,77 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Concurrent callers asking for the same key share one run of the loader: the first
+// caller runs it on its own thread, callers arriving meanwhile wait for its result.
+// Nothing is kept once the run completes, so a result is never older than the call.
+public class SingleFlight<K, V> {
+    
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    
+    // timeout bounds how long a caller waits for someone else's run
+    public SingleFlight(Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> own = new Flight<>();
+        Flight<V> flight = flights.putIfAbsent(key, own);
+        if (flight == null) {
+            return run(key, own, loader);
+        }
+        
+        flight.callers.incrementAndGet();
+        try {
+            return flight.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The run looks hung; later callers start a fresh one instead of queueing behind it
+            flights.remove(key, flight);
+            throw new ReadTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadTimeoutException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            flight.callers.decrementAndGet();
+        }
+    }
+    
+    // Callers currently running or waiting on a run, over all keys
+    public int callers() {
+        return flights.values().stream().mapToInt(flight -> flight.callers.get()).sum();
+    }
+    
+    private V run(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            flight.callers.decrementAndGet();
+        }
+    }
+    
+    private static class Flight<V> {
+        
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.UserFileFormat;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Roster export for reporting. Rows come from a database cursor as UserSummary
+// projections and are written out one at a time, so memory use does not depend on
+// the number of users and no persistence context fills up along the way.
+@Service
+public class UserExportService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Runs on the async thread writing the response, outside the request's transaction scope
+    private TransactionTemplate readOnlyTransaction;
+    
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    // role, department and fields are optional (null = all); returns the number of rows written
+    public long export(Role role, String department, Set<String> fields, UserFileFormat format, OutputStream out) throws IOException {
+        Set<String> selected = fields == null ? new LinkedHashSet<>(UserSummary.FIELDS) : fields;
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        StringBuilder line = new StringBuilder();
+        if (format == UserFileFormat.CSV) {
+            writer.write(String.join(",", selected));
+            writer.write('\n');
+        }
+        
+        try {
+            long rows = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<UserSummary> summaries = userRepository.streamSummaries(role, department)) {
+                    for (UserSummary summary : (Iterable<UserSummary>) summaries::iterator) {
+                        Map<String, Object> values = summary.select(selected);
+                        line.setLength(0);
+                        if (format == UserFileFormat.CSV) {
+                            appendCsv(line, values);
+                        } else {
+                            line.append(jsonMapper.writeValueAsString(values));
+                        }
+                        line.append('\n');
+                        writer.append(line);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            writer.flush();
+            return rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static void appendCsv(StringBuilder line, Map<String, Object> values) {
+        boolean first = true;
+        for (Object value : values.values()) {
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(text);
+            }
+        }
+    }
+}
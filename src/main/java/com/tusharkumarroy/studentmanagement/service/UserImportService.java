@@ -0,0 +1,396 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.ImportReport;
+import com.tusharkumarroy.studentmanagement.dto.UserFileFormat;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+// Bulk user import from CSV or NDJSON. The upload is read one line at a time and
+// handled in chunks: validate, check against existing users with one query per
+// column, hash the passwords in parallel, insert the chunk as JDBC batches and
+// commit. Memory stays bounded by the chunk size whatever the file size; rows that
+// fail are reported and skipped, the rest are imported.
+@Service
+public class UserImportService {
+    
+    private static final List<String> REQUIRED_COLUMNS = List.of("username", "password", "email", "department");
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private UserSearchIndex searchIndex;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${user-import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${user-import.hash-concurrency:0}")
+    private int hashConcurrency;
+    
+    @Value("${user-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    // Shared by all running imports so together they never take the whole hashing pool
+    private Semaphore hashPermits;
+    
+    @PostConstruct
+    void init() {
+        int permits = hashConcurrency > 0 ? hashConcurrency : Math.max(1, hashingExecutor.getPoolSize() / 2);
+        hashPermits = new Semaphore(permits);
+    }
+    
+    public ImportReport importUsers(InputStream input, UserFileFormat format) throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowReader rows = format == UserFileFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        Row row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        return report;
+    }
+    
+    private void importChunk(List<Row> chunk, ImportReport report) {
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error == null) {
+                toUser(row);
+            }
+            if (row.error == null) {
+                valid.add(row);
+            }
+        }
+        rejectDuplicates(valid);
+        hashPasswords(valid);
+        
+        List<Row> accepted = valid.stream().filter(row -> row.error == null).toList();
+        insert(accepted);
+        
+        for (Row row : chunk) {
+            if (row.error != null) {
+                report.addError(row.line, row.fields.get("username"), row.error);
+            }
+        }
+        report.addImported((int) accepted.stream().filter(row -> row.error == null).count());
+    }
+    
+    private void toUser(Row row) {
+        Map<String, String> fields = row.fields;
+        Role role = Role.STUDENT;
+        String roleName = fields.get("role");
+        if (roleName != null && !roleName.isBlank()) {
+            try {
+                role = Role.valueOf(roleName.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                row.error = "Invalid role: " + roleName;
+                return;
+            }
+        }
+        User user = new User(fields.get("username"), fields.get("password"), fields.get("email"),
+                fields.get("department"), role);
+        
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            return;
+        }
+        row.user = user;
+    }
+    
+    // Within the chunk first, then one query per column against the database. Earlier
+    // chunks are already committed, so this also catches duplicates across the file.
+    private void rejectDuplicates(List<Row> rows) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row row : rows) {
+            if (!usernames.add(row.user.getUsername())) {
+                row.error = "Duplicate username in file";
+            } else if (!emails.add(row.user.getEmail())) {
+                row.error = "Duplicate email in file";
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+        for (Row row : rows) {
+            if (row.error != null) {
+                continue;
+            }
+            if (existingEmails.contains(row.user.getEmail())) {
+                row.error = "Email already exists";
+            } else if (existingUsernames.contains(row.user.getUsername())) {
+                row.error = "Username already exists";
+            }
+        }
+    }
+    
+    // BCrypt dominates the cost of an import. Hashes run on the shared hashing pool,
+    // at most hashPermits at a time so logins keep the rest of it.
+    private void hashPasswords(List<Row> rows) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.error != null) {
+                hashes.add(null);
+                continue;
+            }
+            hashPermits.acquireUninterruptibly();
+            String rawPassword = row.user.getPassword();
+            CompletableFuture<String> hash = hashingExecutor.submit(() -> passwordEncoder.encode(rawPassword));
+            hash.whenComplete((result, failure) -> hashPermits.release());
+            hashes.add(hash);
+        }
+        
+        for (int i = 0; i < rows.size(); i++) {
+            if (hashes.get(i) == null) {
+                continue;
+            }
+            Row row = rows.get(i);
+            try {
+                row.user.setPassword(hashes.get(i).join());
+            } catch (Exception e) {
+                row.error = "Password hashing unavailable, retry this row";
+            }
+        }
+    }
+    
+    // The persistence context spans the whole request (open-in-view), so it is cleared
+    // after every chunk instead of accumulating every imported user.
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(rows.stream().map(row -> row.user).toList());
+                entityManager.flush();
+                entityManager.clear();
+                rows.forEach(row -> searchIndex.put(row.user));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent change took a username or email after the duplicate check;
+            // fall back to one transaction per row to find out which
+            for (Row row : rows) {
+                row.user.setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRepository.save(row.user);
+                        entityManager.flush();
+                        entityManager.clear();
+                        searchIndex.put(row.user);
+                    });
+                } catch (DataIntegrityViolationException rowFailure) {
+                    row.error = "Username or email already exists";
+                }
+            }
+        }
+        rosterVersion.bump();
+    }
+    
+    private static class Row {
+        
+        private final int line;
+        private final Map<String, String> fields;
+        private String error;
+        private User user;
+        
+        Row(int line, Map<String, String> fields, String error) {
+            this.line = line;
+            this.fields = fields;
+            this.error = error;
+        }
+    }
+    
+    private interface RowReader {
+        // Next non-blank row, or null at the end of the input
+        Row next() throws IOException;
+    }
+    
+    // Header row names the columns (any order, case-insensitive; role is optional and
+    // defaults to STUDENT). Fields may be double-quoted, with "" for a literal quote.
+    private static class CsvRowReader implements RowReader {
+        
+        private final BufferedReader reader;
+        private final List<String> columns;
+        private int lineNumber = 1;
+        
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            if (header == null) {
+                throw new RuntimeException("CSV header row is missing");
+            }
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            List<String> names = parseLine(header);
+            if (names == null) {
+                throw new RuntimeException("Malformed CSV header row");
+            }
+            columns = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.contains(name)).toList();
+            if (!missing.isEmpty()) {
+                throw new RuntimeException("Missing CSV columns: " + String.join(", ", missing));
+            }
+        }
+        
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = parseLine(line);
+                if (values == null) {
+                    return new Row(lineNumber, Map.of(), "Malformed CSV row");
+                }
+                if (values.size() != columns.size()) {
+                    return new Row(lineNumber, Map.of(), "Expected " + columns.size() + " columns but found " + values.size());
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    fields.put(columns.get(i), values.get(i));
+                }
+                return new Row(lineNumber, fields, null);
+            }
+            return null;
+        }
+        
+        // null when a quoted field is not closed on the same line
+        static List<String> parseLine(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+    
+    // One JSON object per line with the same field names as the CSV columns
+    private class NdjsonRowReader implements RowReader {
+        
+        private final BufferedReader reader;
+        private int lineNumber;
+        
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+        
+        @Override
+        public Row next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Map<String, Object> object;
+                try {
+                    object = jsonMapper.readValue(line, new TypeReference<Map<String, Object>>() {});
+                } catch (JacksonException e) {
+                    return new Row(lineNumber, Map.of(), "Malformed JSON object");
+                }
+                if (object == null) {
+                    return new Row(lineNumber, Map.of(), "Malformed JSON object");
+                }
+                Map<String, String> fields = new HashMap<>();
+                object.forEach((name, value) -> {
+                    if (value != null) {
+                        fields.put(name.toLowerCase(Locale.ROOT), value.toString());
+                    }
+                });
+                return new Row(lineNumber, fields, null);
+            }
+            return null;
+        }
+    }
+}
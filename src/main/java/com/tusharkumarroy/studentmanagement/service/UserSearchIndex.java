@@ -0,0 +1,293 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.config.AfterCommit;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.repository.UserSearchFields;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory n-gram index over username, email and department for /api/users/search.
+// Every trigram of each lowercased value points to the users containing it, so a
+// substring query intersects the lists of its own trigrams instead of scanning users.
+// The first one and two characters of each value are indexed as well, for shorter
+// queries, which match by prefix. Built at startup and kept in step with writes
+// through UserService (applied after commit, like TokenVersionRegistry).
+@Component
+public class UserSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    
+    // Queries shorter than this match by prefix instead of substring
+    public static final int GRAM = 3;
+    
+    // Gram keys: three 16-bit chars, plus a tag bit for the anchored 1-2 character prefixes
+    private static final long PREFIX = 1L << 48;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${user-search.index-enabled:true}")
+    private boolean enabled;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Doc numbers only grow, so every posting list is sorted. A changed user gets a new
+    // doc and its old one is left empty (null) until the next compaction.
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docByUser = new HashMap<>();
+    private int emptyDocs;
+    
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long start = System.nanoTime();
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<UserSearchFields> users = userRepository.streamSearchFields()) {
+                users.forEach(user -> add(new Doc(user.getId(), user.getUsername(), user.getEmail(),
+                        user.getDepartment(), user.getRole())));
+            }
+        });
+        // Growth headroom is only needed for later writes
+        postings.values().forEach(Postings::trim);
+        logger.info("User search index built: {} users, {} grams in {} ms", docByUser.size(), postings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    // Indexes (or re-indexes) the user once the surrounding transaction commits
+    public void put(User user) {
+        if (!enabled) {
+            return;
+        }
+        Doc doc = new Doc(user.getId(), user.getUsername(), user.getEmail(), user.getDepartment(), user.getRole());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                add(doc);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+    
+    public void remove(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer previous = docByUser.remove(userId);
+                if (previous != null) {
+                    clear(previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+    
+    // Ids of up to limit users whose username, email or department contains query
+    // (starts with it, for queries shorter than GRAM), in the order they were indexed.
+    // query must already be lowercase; role null = any.
+    public List<Long> search(String query, Role role, int limit) {
+        long[] keys = grams(query);
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            // Walk the shortest list, probe the others
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            List<Long> ids = new ArrayList<>();
+            Postings shortest = lists[0];
+            int[] cursors = new int[lists.length];
+            for (int i = 0; i < shortest.size && ids.size() < limit; i++) {
+                int docNumber = shortest.docs[i];
+                Doc doc = docs.get(docNumber);
+                if (doc == null || (role != null && doc.role != role) || !inAll(lists, cursors, docNumber)) {
+                    continue;
+                }
+                // Trigrams can all be present without being adjacent
+                if (query.length() < GRAM || doc.contains(query)) {
+                    ids.add(doc.userId);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Caller holds the write lock (or is init)
+    private void add(Doc doc) {
+        Integer previous = docByUser.get(doc.userId);
+        if (previous != null) {
+            clear(previous);
+        }
+        int docNumber = docs.size();
+        docs.add(doc);
+        docByUser.put(doc.userId, docNumber);
+        for (long key : doc.grams()) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(docNumber);
+        }
+    }
+    
+    private void clear(int docNumber) {
+        docs.set(docNumber, null);
+        emptyDocs++;
+        if (emptyDocs > 10_000 && emptyDocs > docByUser.size()) {
+            compact();
+        }
+    }
+    
+    // Renumbers the live docs and rebuilds the posting lists without the empty ones
+    private void compact() {
+        List<Doc> live = docs.stream().filter(doc -> doc != null).toList();
+        docs.clear();
+        docByUser.clear();
+        postings.clear();
+        emptyDocs = 0;
+        live.forEach(this::add);
+    }
+    
+    // Each list's cursor only moves forward, as doc numbers are visited in increasing order
+    private static boolean inAll(Postings[] lists, int[] cursors, int docNumber) {
+        for (int i = 1; i < lists.length; i++) {
+            Postings list = lists[i];
+            int position = Arrays.binarySearch(list.docs, cursors[i], list.size, docNumber);
+            if (position < 0) {
+                cursors[i] = -position - 1;
+                return false;
+            }
+            cursors[i] = position;
+        }
+        return true;
+    }
+    
+    // Distinct gram keys a query must match: its anchored prefix when short, else its trigrams
+    static long[] grams(String query) {
+        if (query.length() < GRAM) {
+            return new long[] {prefixKey(query)};
+        }
+        Set<Long> keys = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            keys.add(trigramKey(query, i));
+        }
+        return keys.stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    private static long trigramKey(String value, int start) {
+        return ((long) value.charAt(start) << 32) | ((long) value.charAt(start + 1) << 16) | value.charAt(start + 2);
+    }
+    
+    private static long prefixKey(String prefix) {
+        long key = PREFIX | prefix.charAt(0);
+        return prefix.length() > 1 ? key | ((long) prefix.charAt(1) << 16) | (1L << 49) : key;
+    }
+    
+    public static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+    
+    // Sorted, growable list of doc numbers
+    private static class Postings {
+        
+        private int[] docs = new int[4];
+        private int size;
+        
+        void add(int docNumber) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = docNumber;
+        }
+        
+        void trim() {
+            docs = Arrays.copyOf(docs, size);
+        }
+    }
+    
+    private static class Doc {
+        
+        private final long userId;
+        private final String username;
+        private final String email;
+        private final String department;
+        private final Role role;
+        
+        Doc(Long userId, String username, String email, String department, Role role) {
+            this.userId = userId;
+            this.username = normalize(username);
+            this.email = normalize(email);
+            this.department = normalize(department);
+            this.role = role;
+        }
+        
+        boolean contains(String query) {
+            return username.contains(query) || email.contains(query) || department.contains(query);
+        }
+        
+        Set<Long> grams() {
+            Set<Long> keys = new LinkedHashSet<>();
+            for (String value : new String[] {username, email, department}) {
+                if (value.isEmpty()) {
+                    continue;
+                }
+                keys.add(prefixKey(value.substring(0, 1)));
+                if (value.length() > 1) {
+                    keys.add(prefixKey(value.substring(0, 2)));
+                }
+                for (int i = 0; i + GRAM <= value.length(); i++) {
+                    keys.add(trigramKey(value, i));
+                }
+            }
+            return keys;
+        }
+    }
+}
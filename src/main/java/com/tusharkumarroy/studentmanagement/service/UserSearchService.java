@@ -0,0 +1,72 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Search over username, email and department. Matches come from UserSearchIndex when it
+// is enabled and are read back from the database by id, so results always show current
+// data; with the index disabled the same search runs as a LIKE query.
+@Service
+public class UserSearchService {
+    
+    @Autowired
+    private UserSearchIndex searchIndex;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${user-search.default-limit:20}")
+    private int defaultLimit;
+    
+    @Value("${pagination.max-size:200}")
+    private int maxLimit;
+    
+    // Substring match from 3 characters, prefix match below; role null = any
+    public List<UserSummary> search(String query, Role role, Integer limit) {
+        String normalized = UserSearchIndex.normalize(query == null ? null : query.trim());
+        if (normalized.isEmpty()) {
+            throw new RuntimeException("Search query is required");
+        }
+        int max = limit == null ? defaultLimit : Math.min(Math.max(limit, 1), maxLimit);
+        
+        if (!searchIndex.isEnabled()) {
+            String escaped = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            String pattern = normalized.length() < UserSearchIndex.GRAM ? escaped + "%" : "%" + escaped + "%";
+            return userRepository.searchSummaries(pattern, role, Limit.of(max));
+        }
+        
+        List<Long> ids = searchIndex.search(normalized, role, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> order = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            order.put(ids.get(i), i);
+        }
+        // Drops users changed or deleted outside the application since they were indexed
+        return userRepository.findSummariesByIds(ids).stream()
+                .filter(summary -> matches(summary, normalized) && (role == null || summary.getRole() == role))
+                .sorted(Comparator.comparing(summary -> order.get(summary.getId())))
+                .toList();
+    }
+    
+    private static boolean matches(UserSummary summary, String query) {
+        for (String value : new String[] {summary.getUsername(), summary.getEmail(), summary.getDepartment()}) {
+            String normalized = UserSearchIndex.normalize(value);
+            if (query.length() < UserSearchIndex.GRAM ? normalized.startsWith(query) : normalized.contains(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,16 +1,30 @@
 package com.tusharkumarroy.studentmanagement.service;
 
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.CustomUserDetailsService;
+import com.tusharkumarroy.studentmanagement.security.RefreshTokenService;
+import com.tusharkumarroy.studentmanagement.security.TokenRevocationLog;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
+// Every public method is timed as user.service, tagged with the method name
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserService {
     
     @Autowired
@@ -19,23 +33,62 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private TokenRevocationLog revocations;
+    
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private RosterVersion rosterVersion;
+    
+    @Autowired
+    private UserSearchIndex searchIndex;
+    
+    @Value("${pagination.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-size:200}")
+    private int maxPageSize;
+    
+    // role and department are optional filters; cursor is the nextCursor of the previous page
+    @Transactional(readOnly = true)
+    public PageResponse<UserSummary> getUsersPage(Role role, String department, UserSort sort, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        PageCursor after = PageCursor.decode(cursor);
+        
+        List<UserSummary> rows = switch (sort) {
+            case ID -> userRepository.findPageOrderById(role, department,
+                    after == null ? 0L : after.getId(), limit);
+            case USERNAME -> userRepository.findPageOrderByUsername(role, department,
+                    after == null ? "" : after.getSortValue(), limit);
+            case DEPARTMENT -> userRepository.findPageOrderByDepartment(role, department,
+                    after == null ? "" : after.getSortValue(), after == null ? 0L : after.getId(), limit);
+        };
+        return PageCursor.page(rows, pageSize, sort);
     }
     
-    public List<User> getUsersByRole(Role role) {
-        return userRepository.findByRole(role);
+    // Students without a teacher, by id; cursor is the nextCursor of the previous page
+    @Transactional(readOnly = true)
+    public PageResponse<UserSummary> getUnassignedStudentsPage(String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<UserSummary> rows = userRepository.findUnassignedPage(after == null ? 0L : after.getId(),
+                Limit.of(pageSize + 1));
+        return PageCursor.page(rows, pageSize, UserSort.ID);
     }
     
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
     }
     
-    public List<User> getUnassignedStudents() {
-        return userRepository.findByRoleAndAssignedTeacherIsNull(Role.STUDENT);
-    }
-    
     @Transactional
     public User createUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -47,7 +100,11 @@ public class UserService {
         }
         
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getUsername());
+        rosterVersion.bump();
+        searchIndex.put(saved);
+        return saved;
     }
     
     @Transactional
@@ -59,16 +116,45 @@ public class UserService {
             throw new RuntimeException("Email already exists");
         }
         
+        String previousUsername = user.getUsername();
+        boolean passwordChanged = userDetails.getPassword() != null && !userDetails.getPassword().isEmpty();
+        boolean credentialsChanged = passwordChanged
+                || !Objects.equals(user.getUsername(), userDetails.getUsername())
+                || user.getRole() != userDetails.getRole();
+        
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
         user.setDepartment(userDetails.getDepartment());
         user.setRole(userDetails.getRole());
         
-        if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
         
-        return userRepository.save(user);
+        // Tokens carry the role, so outstanding ones must stop working
+        if (credentialsChanged) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            revocations.publishVersion(user.getId(), user.getTokenVersion());
+            refreshTokenService.revokeAll(user.getId());
+        }
+        
+        User saved = userRepository.save(user);
+        userDetailsService.evict(previousUsername);
+        userDetailsService.evict(saved.getUsername());
+        rosterVersion.bump();
+        searchIndex.put(saved);
+        return saved;
+    }
+    
+    // Signs the user out everywhere: every access and refresh token issued so far stops working
+    @Transactional
+    public void revokeTokens(Long id) {
+        User user = getUserById(id);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        revocations.publishVersion(user.getId(), user.getTokenVersion());
+        refreshTokenService.revokeAll(user.getId());
+        userDetailsService.evict(user.getUsername());
     }
     
     @Transactional
@@ -76,14 +162,16 @@ public class UserService {
         User user = getUserById(id);
         
         // Unassign students if deleting a teacher
-        if (user.getRole() == Role.TEACHER && user.getAssignedStudents() != null) {
-            for (User student : user.getAssignedStudents()) {
-                student.setAssignedTeacher(null);
-                userRepository.save(student);
-            }
+        if (user.getRole() == Role.TEACHER) {
+            userRepository.unassignStudents(user);
         }
         
         userRepository.deleteById(id);
+        revocations.revokeUser(id);
+        refreshTokenService.revokeAll(id);
+        userDetailsService.evict(user.getUsername());
+        rosterVersion.bump();
+        searchIndex.remove(id);
     }
     
     @Transactional
@@ -100,9 +188,57 @@ public class UserService {
         }
         
         student.setAssignedTeacher(teacher);
+        rosterVersion.bump();
         return userRepository.save(student);
     }
     
+    // Bulk variants below run as a single UPDATE each. Ids that are not students are skipped;
+    // the return value is the number of students actually changed. Listings only move to a
+    // new version when a row changed.
+    @Transactional
+    public int assignStudentsToTeacher(Collection<Long> studentIds, Long teacherId) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return 0;
+        }
+        int updated = userRepository.assignStudents(Set.copyOf(studentIds), userRepository.getReferenceById(teacherId));
+        if (updated == 0) {
+            requireTeacher(teacherId);
+        } else {
+            rosterVersion.bump();
+        }
+        return updated;
+    }
+    
+    @Transactional
+    public int moveStudents(Long fromTeacherId, Long toTeacherId) {
+        int updated = userRepository.moveStudents(userRepository.getReferenceById(fromTeacherId),
+                userRepository.getReferenceById(toTeacherId));
+        if (updated == 0) {
+            requireTeacher(toTeacherId);
+        } else {
+            rosterVersion.bump();
+        }
+        return updated;
+    }
+    
+    @Transactional
+    public int unassignAllStudents(Long teacherId) {
+        int updated = userRepository.unassignStudents(userRepository.getReferenceById(teacherId));
+        if (updated == 0) {
+            requireTeacher(teacherId);
+        } else {
+            rosterVersion.bump();
+        }
+        return updated;
+    }
+    
+    // Only consulted when an update matched nothing, to tell a bad target from an empty list
+    private void requireTeacher(Long teacherId) {
+        if (!userRepository.existsByIdAndRole(teacherId, Role.TEACHER)) {
+            throw new RuntimeException("User is not a teacher");
+        }
+    }
+    
     @Transactional
     public User unassignStudentFromTeacher(Long studentId) {
         User student = getUserById(studentId);
@@ -112,6 +248,11 @@ public class UserService {
         }
         
         student.setAssignedTeacher(null);
+        rosterVersion.bump();
         return userRepository.save(student);
     }
+    
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+    }
 }
@@ -0,0 +1,32 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Moves user ids from IDENTITY to a sequence so Hibernate can batch inserts.
+// Hibernate's pooled optimizer treats each value as the top of a block of 50,
+// so the sequence starts one block above the highest existing id.
+public class V4__users_id_sequence extends BaseJavaMigration {
+    
+    private static final int ALLOCATION_SIZE = 50;
+    
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from users")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            statement.execute("create sequence users_seq start with " + (maxId + ALLOCATION_SIZE)
+                    + " increment by " + ALLOCATION_SIZE);
+            // Rows inserted outside Hibernate draw from the same sequence instead of an identity
+            // counter of their own that would hand out ids already in Hibernate's blocks
+            statement.execute("alter table users alter column id drop identity");
+            statement.execute("alter table users alter column id set default nextval('users_seq')");
+        }
+    }
+}
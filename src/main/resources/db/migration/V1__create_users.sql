@@ -0,0 +1,13 @@
+-- Schema as it stood when it was still created by ddl-auto; existing databases are baselined at this version
+create table if not exists users (
+    id          bigint generated by default as identity primary key,
+    username    varchar(255) not null,
+    password    varchar(255) not null,
+    email       varchar(255) not null,
+    department  varchar(255) not null,
+    role        varchar(255) not null,
+    teacher_id  bigint,
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint fk_users_teacher foreign key (teacher_id) references users (id)
+);
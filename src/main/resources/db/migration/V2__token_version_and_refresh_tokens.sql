@@ -0,0 +1,14 @@
+-- Bumped whenever a user's outstanding tokens must stop working
+alter table users add column if not exists token_version bigint default 0 not null;
+
+-- Refresh tokens are stored as SHA-256 digests only
+create table if not exists refresh_tokens (
+    id             bigint generated by default as identity primary key,
+    token_hash     varchar(64) not null,
+    user_id        bigint not null,
+    username       varchar(255) not null,
+    role           varchar(255) not null,
+    token_version  bigint not null,
+    expires_at     timestamp(6) with time zone not null,
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
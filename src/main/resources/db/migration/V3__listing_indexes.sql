@@ -0,0 +1,13 @@
+-- Keyset paging: role filter + sort key, id as tie-breaker
+create index if not exists idx_users_role_id on users (role, id);
+create index if not exists idx_users_role_username on users (role, username);
+create index if not exists idx_users_role_department_id on users (role, department, id);
+create index if not exists idx_users_department_id on users (department, id);
+
+-- findByRoleAndAssignedTeacherIsNull and the per-teacher student lists/counts
+create index if not exists idx_users_role_teacher_id on users (role, teacher_id);
+create index if not exists idx_users_teacher_id on users (teacher_id);
+
+-- Revoking a user's sessions and purging expired tokens
+create index if not exists idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index if not exists idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
@@ -0,0 +1,14 @@
+-- Revocations made on any node, polled by every node (TokenRevocationLog).
+-- A row names either one access token (token_id) or a user whose older tokens
+-- stop working (user_id, with token_version null when all of them do).
+create table if not exists token_revocations (
+    id             bigint generated by default as identity primary key,
+    user_id        bigint,
+    token_version  bigint,
+    token_id       varchar(64),
+    recorded_at    timestamp(6) with time zone not null,
+    expires_at     timestamp(6) with time zone not null
+);
+
+create index if not exists idx_token_revocations_recorded_at on token_revocations (recorded_at);
+create index if not exists idx_token_revocations_expires_at on token_revocations (expires_at);
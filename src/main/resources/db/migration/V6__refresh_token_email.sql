@@ -0,0 +1,3 @@
+-- Refreshed logins answer with the same fields as a password login, email included.
+-- Rows issued before this version have none until they are rotated.
+alter table refresh_tokens add column if not exists email varchar(255);
@@ -85,6 +85,7 @@ async function login(event) {
             
             // Store token and user info
             localStorage.setItem('token', data.token);
+            localStorage.setItem('refreshToken', data.refreshToken);
             localStorage.setItem('email', data.email);
             localStorage.setItem('role', data.role);
             
@@ -94,6 +95,9 @@ async function login(event) {
             setTimeout(() => {
                 window.location.href = 'dashboard.html';
             }, 1000);
+        } else if (response.status === 429) {
+            const retryAfter = response.headers.get('Retry-After');
+            showMessage(`Too many attempts. Please try again in ${retryAfter || 'a few'} seconds.`, 'error');
         } else {
             showMessage('Invalid username or password', 'error');
         }
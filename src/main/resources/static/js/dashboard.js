@@ -18,7 +18,7 @@ async function verifyAuthentication() {
         console.log('Stored role:', userRole);
         console.log('Token:', token ? 'Present' : 'Missing');
         
-        const response = await fetch(`${API_URL}/students`, {
+        const response = await apiFetch(`${API_URL}/students?size=1`, {
             headers: {
                 'Authorization': `Bearer ${token}`
             }
@@ -40,6 +40,54 @@ async function verifyAuthentication() {
     }
 }
 
+// Access tokens are short-lived; swap the refresh token for a new pair.
+// Concurrent callers share one in-flight refresh since each refresh token works once.
+let refreshInFlight = null;
+
+function refreshAccessToken() {
+    if (!refreshInFlight) {
+        refreshInFlight = (async () => {
+            const refreshToken = localStorage.getItem('refreshToken');
+            if (!refreshToken) return false;
+            
+            try {
+                const response = await fetch(`${API_URL}/auth/refresh`, {
+                    method: 'POST',
+                    headers: {
+                        'Content-Type': 'application/json'
+                    },
+                    body: JSON.stringify({ refreshToken })
+                });
+                
+                if (!response.ok) return false;
+                
+                const data = await response.json();
+                token = data.token;
+                localStorage.setItem('token', data.token);
+                localStorage.setItem('refreshToken', data.refreshToken);
+                console.log('Access token refreshed');
+                return true;
+            } catch (error) {
+                console.error('Token refresh error:', error);
+                return false;
+            } finally {
+                refreshInFlight = null;
+            }
+        })();
+    }
+    return refreshInFlight;
+}
+
+// fetch() that retries once with a refreshed access token on 401/403
+async function apiFetch(url, options = {}) {
+    const response = await fetch(url, options);
+    if ((response.status === 401 || response.status === 403) && await refreshAccessToken()) {
+        const headers = { ...options.headers, 'Authorization': `Bearer ${token}` };
+        return fetch(url, { ...options, headers });
+    }
+    return response;
+}
+
 // Handle authentication errors
 function handleAuthError(response) {
     if (response.status === 401 || response.status === 403) {
@@ -107,7 +155,20 @@ function showToast(message, type) {
     }, 3000);
 }
 
-function logout() {
+async function logout() {
+    // Revoke both tokens server-side; leave even if the call fails
+    try {
+        await fetch(`${API_URL}/auth/logout`, {
+            method: 'POST',
+            headers: {
+                'Authorization': `Bearer ${token}`,
+                'Content-Type': 'application/json'
+            },
+            body: JSON.stringify({ refreshToken: localStorage.getItem('refreshToken') })
+        });
+    } catch (error) {
+        console.error('Logout error:', error);
+    }
     localStorage.clear();
     window.location.href = 'index.html';
 }
@@ -116,19 +177,52 @@ function closeModal(modalId) {
     document.getElementById(modalId).classList.remove('active');
 }
 
+// Listings are paginated by cursor: students load a page at a time,
+// teachers (few, needed in full for the dropdowns) are loaded page by page
+const PAGE_SIZE = 50;
+let studentsCursor = null;
+
+// Pages already fetched, by URL, with the ETag they came with. Each request sends
+// that ETag back; while the roster is unchanged the server answers 304 with no body
+// and the stored page is reused.
+const pageCache = new Map();
+
+async function fetchPage(path, cursor, fields) {
+    const params = new URLSearchParams({ size: PAGE_SIZE });
+    if (cursor) params.set('cursor', cursor);
+    if (fields) params.set('fields', fields);
+    
+    const url = `${API_URL}${path}?${params}`;
+    const cached = pageCache.get(url);
+    const headers = {
+        'Authorization': `Bearer ${token}`
+    };
+    if (cached) headers['If-None-Match'] = cached.etag;
+    
+    const response = await apiFetch(url, { headers });
+    
+    if (response.status === 304 && cached) {
+        return new Response(cached.body, { status: 200, headers: { 'Content-Type': 'application/json' } });
+    }
+    
+    const etag = response.headers.get('ETag');
+    if (response.ok && etag) {
+        pageCache.set(url, { etag, body: await response.clone().text() });
+    }
+    return response;
+}
+
 // Students Functions
-async function loadStudents() {
+async function loadStudents(append = false) {
     try {
-        const response = await fetch(`${API_URL}/students`, {
-            headers: {
-                'Authorization': `Bearer ${token}`
-            }
-        });
+        const response = await fetchPage('/students', append ? studentsCursor : null);
         
         if (handleAuthError(response)) return;
         
         if (response.ok) {
-            students = await response.json();
+            const page = await response.json();
+            students = append ? students.concat(page.items) : page.items;
+            studentsCursor = page.nextCursor;
             displayStudents();
         } else {
             showToast('Failed to load students', 'error');
@@ -138,6 +232,40 @@ async function loadStudents() {
     }
 }
 
+// Server-side search replaces the paged list while the search box has text
+let searchTimer = null;
+
+function searchStudents(query) {
+    clearTimeout(searchTimer);
+    searchTimer = setTimeout(async () => {
+        const q = query.trim();
+        if (!q) {
+            loadStudents();
+            return;
+        }
+        try {
+            const params = new URLSearchParams({ q, role: 'student', limit: PAGE_SIZE });
+            const response = await apiFetch(`${API_URL}/users/search?${params}`, {
+                headers: {
+                    'Authorization': `Bearer ${token}`
+                }
+            });
+            
+            if (handleAuthError(response)) return;
+            
+            if (response.ok) {
+                students = await response.json();
+                studentsCursor = null;
+                displayStudents();
+            } else {
+                showToast('Search failed', 'error');
+            }
+        } catch (error) {
+            showToast('Network error', 'error');
+        }
+    }, 250);
+}
+
 function displayStudents() {
     const container = document.getElementById('studentsList');
     
@@ -166,8 +294,8 @@ function displayStudents() {
                 <div class="info-row">
                     <span class="info-label">Assigned Teacher:</span>
                     <span class="info-value">
-                        ${student.assignedTeacher?.username || '<em>Not assigned</em>'}
-                        ${isAdmin && student.assignedTeacher ? `<button onclick="unassignStudent(${student.id})" class="btn-link" title="Remove assignment">✕</button>` : ''}
+                        ${student.assignedTeacherUsername || '<em>Not assigned</em>'}
+                        ${isAdmin && student.assignedTeacherId ? `<button onclick="unassignStudent(${student.id})" class="btn-link" title="Remove assignment">✕</button>` : ''}
                     </span>
                 </div>
             </div>
@@ -178,7 +306,11 @@ function displayStudents() {
             </div>
             ` : ''}
         </div>
-    `).join('');
+    `).join('') + (studentsCursor ? `
+        <div class="load-more">
+            <button onclick="loadStudents(true)" class="btn btn-secondary">Load more</button>
+        </div>
+    ` : '');
 }
 
 function showAddStudentModal() {
@@ -194,7 +326,7 @@ async function addStudent(event) {
     const department = document.getElementById('studentDepartment').value;
     
     try {
-        const response = await fetch(`${API_URL}/admin/users`, {
+        const response = await apiFetch(`${API_URL}/admin/users`, {
             method: 'POST',
             headers: {
                 'Authorization': `Bearer ${token}`,
@@ -223,7 +355,7 @@ async function deleteStudent(id) {
     if (!confirm('Are you sure you want to delete this student?')) return;
     
     try {
-        const response = await fetch(`${API_URL}/admin/users/${id}`, {
+        const response = await apiFetch(`${API_URL}/admin/users/${id}`, {
             method: 'DELETE',
             headers: {
                 'Authorization': `Bearer ${token}`
@@ -247,20 +379,26 @@ async function deleteStudent(id) {
 // Teachers Functions
 async function loadTeachers() {
     try {
-        const response = await fetch(`${API_URL}/teachers`, {
-            headers: {
-                'Authorization': `Bearer ${token}`
-            }
-        });
+        let loaded = [];
+        let cursor = null;
         
-        if (handleAuthError(response)) return;
+        do {
+            const response = await fetchPage('/teachers', cursor, 'id,username,email,department,assignedStudentCount');
+            
+            if (handleAuthError(response)) return;
+            
+            if (!response.ok) {
+                showToast('Failed to load teachers', 'error');
+                return;
+            }
+            
+            const page = await response.json();
+            loaded = loaded.concat(page.items);
+            cursor = page.nextCursor;
+        } while (cursor);
         
-        if (response.ok) {
-            teachers = await response.json();
-            displayTeachers();
-        } else {
-            showToast('Failed to load teachers', 'error');
-        }
+        teachers = loaded;
+        displayTeachers();
     } catch (error) {
         showToast('Network error', 'error');
     }
@@ -293,7 +431,7 @@ function displayTeachers() {
                 </div>
                 <div class="info-row">
                     <span class="info-label">Assigned Students:</span>
-                    <span class="info-value">${teacher.assignedStudents?.length || 0}</span>
+                    <span class="info-value">${teacher.assignedStudentCount}</span>
                 </div>
             </div>
             ${isAdmin ? `
@@ -319,7 +457,7 @@ async function addTeacher(event) {
     const department = document.getElementById('teacherDepartment').value;
     
     try {
-        const response = await fetch(`${API_URL}/admin/users`, {
+        const response = await apiFetch(`${API_URL}/admin/users`, {
             method: 'POST',
             headers: {
                 'Authorization': `Bearer ${token}`,
@@ -348,7 +486,7 @@ async function deleteTeacher(id) {
     if (!confirm('Are you sure you want to delete this teacher?')) return;
     
     try {
-        const response = await fetch(`${API_URL}/admin/users/${id}`, {
+        const response = await apiFetch(`${API_URL}/admin/users/${id}`, {
             method: 'DELETE',
             headers: {
                 'Authorization': `Bearer ${token}`
@@ -370,11 +508,34 @@ async function deleteTeacher(id) {
 }
 
 // Assignment Functions
-function loadAssignmentData() {
+// Unassigned students come from their own listing, page by page: the students
+// list only holds the pages loaded so far
+async function loadAssignmentData() {
     const studentSelect = document.getElementById('assignStudent');
     const teacherSelect = document.getElementById('assignTeacher');
     
-    const unassignedStudents = students.filter(s => !s.assignedTeacher);
+    let unassignedStudents = [];
+    let cursor = null;
+    
+    try {
+        do {
+            const response = await fetchPage('/students/unassigned', cursor, 'id,username,department');
+            
+            if (handleAuthError(response)) return;
+            
+            if (!response.ok) {
+                showToast('Failed to load unassigned students', 'error');
+                return;
+            }
+            
+            const page = await response.json();
+            unassignedStudents = unassignedStudents.concat(page.items);
+            cursor = page.nextCursor;
+        } while (cursor);
+    } catch (error) {
+        showToast('Network error', 'error');
+        return;
+    }
     
     studentSelect.innerHTML = '<option value="">Select a student</option>' +
         unassignedStudents.map(s => 
@@ -397,7 +558,7 @@ async function assignStudent() {
     }
     
     try {
-        const response = await fetch(`${API_URL}/admin/assign/${studentId}/to/${teacherId}`, {
+        const response = await apiFetch(`${API_URL}/admin/assign/${studentId}/to/${teacherId}`, {
             method: 'PUT',
             headers: {
                 'Authorization': `Bearer ${token}`
@@ -445,7 +606,7 @@ function populateTeacherDropdown(studentId) {
     
     // Find the current student to get their assigned teacher
     const student = students.find(s => s.id == studentId);
-    const currentTeacherId = student?.assignedTeacher?.id || '';
+    const currentTeacherId = student?.assignedTeacherId || '';
     
     // Build options: None + all teachers
     teacherSelect.innerHTML = '<option value="">None (Unassigned)</option>' +
@@ -466,7 +627,7 @@ async function updateUser(event) {
     
     try {
         // Update user basic info
-        const response = await fetch(`${API_URL}/admin/users/${id}`, {
+        const response = await apiFetch(`${API_URL}/admin/users/${id}`, {
             method: 'PUT',
             headers: {
                 'Authorization': `Bearer ${token}`,
@@ -487,7 +648,7 @@ async function updateUser(event) {
         if (role === 'STUDENT') {
             if (teacherId) {
                 // Assign to teacher
-                const assignResponse = await fetch(`${API_URL}/admin/assign/${id}/to/${teacherId}`, {
+                const assignResponse = await apiFetch(`${API_URL}/admin/assign/${id}/to/${teacherId}`, {
                     method: 'PUT',
                     headers: {
                         'Authorization': `Bearer ${token}`
@@ -502,7 +663,7 @@ async function updateUser(event) {
                 }
             } else {
                 // Unassign from teacher
-                const unassignResponse = await fetch(`${API_URL}/admin/unassign/${id}`, {
+                const unassignResponse = await apiFetch(`${API_URL}/admin/unassign/${id}`, {
                     method: 'PUT',
                     headers: {
                         'Authorization': `Bearer ${token}`
@@ -528,7 +689,7 @@ async function unassignStudent(studentId) {
     if (!confirm('Are you sure you want to unassign this student from their teacher?')) return;
     
     try {
-        const response = await fetch(`${API_URL}/admin/unassign/${studentId}`, {
+        const response = await apiFetch(`${API_URL}/admin/unassign/${studentId}`, {
             method: 'PUT',
             headers: {
                 'Authorization': `Bearer ${token}`
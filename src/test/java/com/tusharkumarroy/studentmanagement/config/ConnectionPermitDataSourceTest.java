@@ -0,0 +1,114 @@
+package com.tusharkumarroy.studentmanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionPermitDataSourceTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private DataSource pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void getConnection_BeyondPermits_WaitsForClose() throws Exception {
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, 2, Duration.ofSeconds(10));
+        Connection first = limited.getConnection();
+        limited.getConnection();
+
+        Future<Connection> third = threads.submit(() -> limited.getConnection());
+        awaitQueueLength(limited, 1);
+        assertFalse(third.isDone());
+
+        first.close();
+        assertNotNull(third.get(5, TimeUnit.SECONDS));
+        verify(pool, times(3)).getConnection();
+    }
+
+    @Test
+    void getConnection_NoPermitInTime_Throws() throws Exception {
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+        limited.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void waiters_AreServedInArrivalOrder() throws Exception {
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, 1, Duration.ofSeconds(10));
+        Connection held = limited.getConnection();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            int caller = i;
+            threads.submit(() -> {
+                try (Connection connection = limited.getConnection()) {
+                    order.add(caller);
+                }
+                return null;
+            });
+            awaitQueueLength(limited, i + 1);
+        }
+        held.close();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (order.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4), order);
+    }
+
+    @Test
+    void close_Twice_ReleasesOnePermit() throws Exception {
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, 2, Duration.ofSeconds(10));
+        Connection connection = limited.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, limited.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_PoolFails_ReleasesPermit() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionPermitDataSource limited = new ConnectionPermitDataSource(pool, 1, Duration.ofSeconds(10));
+
+        assertThrows(SQLException.class, limited::getConnection);
+        assertEquals(1, limited.getAvailablePermits());
+    }
+
+    private static void awaitQueueLength(ConnectionPermitDataSource limited, int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limited.getQueueLength() < length && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(length, limited.getQueueLength());
+    }
+}
@@ -0,0 +1,61 @@
+package com.tusharkumarroy.studentmanagement.controller;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.service.ReactiveUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Only a missing user is a 404 and only a bad parameter a 400; database failures stay server errors
+class ReactivePublicControllerTest {
+
+    private ReactiveUserService reactiveUserService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        reactiveUserService = mock(ReactiveUserService.class);
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles("reactive");
+        context.getBeanFactory().registerSingleton("reactiveUserService", reactiveUserService);
+        context.register(WebFlux.class, ReactivePublicController.class);
+        context.refresh();
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @EnableWebFlux
+    static class WebFlux {
+    }
+
+    @Test
+    void userById_Missing_NotFound() {
+        when(reactiveUserService.getUserById(42L)).thenReturn(Mono.empty());
+
+        client.get().uri("/api/users/42").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void userById_DatabaseDown_ServiceUnavailable() {
+        when(reactiveUserService.getUserById(42L))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+
+        client.get().uri("/api/users/42").exchange().expectStatus().isEqualTo(503);
+    }
+
+    @Test
+    void listing_DatabaseDown_ServiceUnavailable() {
+        when(reactiveUserService.getUsersPage(any(), isNull(), any(UserSort.class), isNull(), isNull()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+
+        client.get().uri("/api/users").exchange().expectStatus().isEqualTo(503);
+    }
+}
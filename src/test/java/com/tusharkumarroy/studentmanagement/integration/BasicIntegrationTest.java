@@ -1,15 +1,21 @@
 package com.tusharkumarroy.studentmanagement.integration;
 
+import com.tusharkumarroy.studentmanagement.dto.LoginRequest;
+import com.tusharkumarroy.studentmanagement.dto.LoginResponse;
 import com.tusharkumarroy.studentmanagement.dto.RegisterRequest;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.BCryptCostCalibrator;
 import com.tusharkumarroy.studentmanagement.service.AuthService;
 import com.tusharkumarroy.studentmanagement.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -44,7 +50,7 @@ class BasicIntegrationTest {
         adminRequest.setDepartment("IT");
         adminRequest.setRole(Role.ADMIN);
 
-        User admin = authService.register(adminRequest);
+        User admin = authService.register(adminRequest).join();
         assertNotNull(admin);
         assertEquals("admin", admin.getUsername());
 
@@ -79,10 +85,11 @@ class BasicIntegrationTest {
         assertEquals("teacher1", assignedStudent.getAssignedTeacher().getUsername());
 
         // Verify counts
-        List<User> allStudents = userService.getUsersByRole(Role.STUDENT);
-        List<User> allTeachers = userService.getUsersByRole(Role.TEACHER);
+        List<UserSummary> allStudents = userService.getUsersPage(Role.STUDENT, null, UserSort.ID, null, null).getItems();
+        List<UserSummary> allTeachers = userService.getUsersPage(Role.TEACHER, null, UserSort.ID, null, null).getItems();
         assertEquals(1, allStudents.size());
         assertEquals(1, allTeachers.size());
+        assertEquals(1, allTeachers.get(0).getAssignedStudentCount());
     }
 
     @Test
@@ -105,4 +112,51 @@ class BasicIntegrationTest {
         assertEquals("Mathematics", updated.getDepartment());
         assertEquals("testuser", updated.getUsername());
     }
+
+    @Test
+    void login_WithOutdatedBcryptCost_RehashesPassword() {
+        // Stored with a cost other than the configured one (4 in tests)
+        User user = new User("legacy_student", new BCryptPasswordEncoder(5).encode("student123"),
+                "legacy@test.com", "Physics", Role.STUDENT);
+        userRepository.save(user);
+
+        LoginResponse response = authService.login(new LoginRequest("legacy_student", "student123")).join();
+        assertNotNull(response.getToken());
+
+        String rehashed = userRepository.findByUsername("legacy_student").orElseThrow().getPassword();
+        assertEquals(4, BCryptCostCalibrator.strengthOf(rehashed));
+        assertNotNull(authService.login(new LoginRequest("legacy_student", "student123")).join().getToken());
+    }
+
+    @Test
+    void refresh_RotatesTokenAndRejectsReuse() {
+        userRepository.save(new User("refresh_student", new BCryptPasswordEncoder(4).encode("student123"),
+                "refresh@test.com", "Physics", Role.STUDENT));
+        LoginResponse login = authService.login(new LoginRequest("refresh_student", "student123")).join();
+        assertNotNull(login.getRefreshToken());
+
+        LoginResponse refreshed = authService.refresh(login.getRefreshToken());
+        assertNotNull(refreshed.getToken());
+        assertNotEquals(login.getRefreshToken(), refreshed.getRefreshToken());
+        assertEquals("STUDENT", refreshed.getRole());
+        assertEquals("refresh@test.com", refreshed.getEmail());
+
+        // A refresh token is single use
+        assertThrows(RuntimeException.class, () -> authService.refresh(login.getRefreshToken()));
+        LoginResponse again = authService.refresh(refreshed.getRefreshToken());
+        assertNotNull(again.getToken());
+        assertEquals("refresh@test.com", again.getEmail());
+    }
+
+    @Test
+    void refresh_AfterRoleChange_IsRejected() {
+        User user = userRepository.save(new User("promoted_student", new BCryptPasswordEncoder(4).encode("student123"),
+                "promoted@test.com", "Physics", Role.STUDENT));
+        LoginResponse login = authService.login(new LoginRequest("promoted_student", "student123")).join();
+
+        User changes = new User("promoted_student", null, "promoted@test.com", "Physics", Role.TEACHER);
+        userService.updateUser(user.getId(), changes);
+
+        assertThrows(RuntimeException.class, () -> authService.refresh(login.getRefreshToken()));
+    }
 }
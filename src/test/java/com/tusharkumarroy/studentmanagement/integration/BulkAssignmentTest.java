@@ -0,0 +1,154 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.RosterVersion;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkAssignmentTest {
+
+    private static final int CLASS_SIZE = 300;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RosterVersion rosterVersion;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User teacherA;
+    private User teacherB;
+    private List<Long> studentIds;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        teacherA = userRepository.save(new User("teacher_a", "encoded", "a@test.com", "Physics", Role.TEACHER));
+        teacherB = userRepository.save(new User("teacher_b", "encoded", "b@test.com", "Physics", Role.TEACHER));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < CLASS_SIZE; i++) {
+            students.add(new User("student" + i, "encoded", "s" + i + "@test.com", "Physics", Role.STUDENT));
+        }
+        studentIds = userRepository.saveAll(students).stream().map(User::getId).toList();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void assignStudents_WholeClassInOneStatement() {
+        statistics.clear();
+        int updated = userService.assignStudentsToTeacher(studentIds, teacherA.getId());
+
+        assertEquals(CLASS_SIZE, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(CLASS_SIZE, studentsOf(teacherA));
+    }
+
+    @Test
+    void assignStudents_SkipsIdsThatAreNotStudents() {
+        List<Long> ids = new ArrayList<>(studentIds.subList(0, 10));
+        ids.add(teacherB.getId());
+        ids.add(-1L);
+
+        int updated = userService.assignStudentsToTeacher(ids, teacherA.getId());
+
+        assertEquals(10, updated);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users where id = ? and teacher_id is not null",
+                Integer.class, teacherB.getId()));
+    }
+
+    @Test
+    void assignStudents_TargetNotATeacher_ChangesNothing() {
+        Long notATeacher = studentIds.get(0);
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> userService.assignStudentsToTeacher(studentIds, notATeacher));
+
+        assertEquals("User is not a teacher", error.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users where teacher_id is not null", Integer.class));
+    }
+
+    @Test
+    void moveStudents_MovesWholeClassInOneStatement() {
+        userService.assignStudentsToTeacher(studentIds, teacherA.getId());
+
+        statistics.clear();
+        int moved = userService.moveStudents(teacherA.getId(), teacherB.getId());
+
+        assertEquals(CLASS_SIZE, moved);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, studentsOf(teacherA));
+        assertEquals(CLASS_SIZE, studentsOf(teacherB));
+    }
+
+    @Test
+    void unassignAllStudents_ClearsTheClass() {
+        userService.assignStudentsToTeacher(studentIds, teacherA.getId());
+
+        int unassigned = userService.unassignAllStudents(teacherA.getId());
+
+        assertEquals(CLASS_SIZE, unassigned);
+        assertEquals(0, studentsOf(teacherA));
+    }
+
+    @Test
+    void unassignAllStudents_NotATeacher_RejectedWithoutNewVersion() {
+        long version = rosterVersion.current();
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> userService.unassignAllStudents(studentIds.get(0)));
+
+        assertEquals("User is not a teacher", error.getMessage());
+        assertEquals(version, rosterVersion.current());
+    }
+
+    @Test
+    void unassignAllStudents_EmptyClass_KeepsVersion() {
+        long version = rosterVersion.current();
+
+        assertEquals(0, userService.unassignAllStudents(teacherB.getId()));
+        assertEquals(version, rosterVersion.current());
+    }
+
+    @Test
+    void deleteTeacher_UnassignsStudentsWithoutPerStudentSaves() {
+        userService.assignStudentsToTeacher(studentIds, teacherA.getId());
+
+        statistics.clear();
+        userService.deleteUser(teacherA.getId());
+
+        // Load the teacher, one UPDATE for the class, load for delete, DELETE, token revocation for other nodes
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "statements: " + statistics.getPrepareStatementCount());
+        assertFalse(userRepository.existsById(teacherA.getId()));
+        assertEquals(CLASS_SIZE, userRepository.countByRoleAndAssignedTeacherIsNull(Role.STUDENT));
+    }
+
+    private int studentsOf(User teacher) {
+        return jdbcTemplate.queryForObject("select count(*) from users where teacher_id = ?", Integer.class, teacher.getId());
+    }
+}
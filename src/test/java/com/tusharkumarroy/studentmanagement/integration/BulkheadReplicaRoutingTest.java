@@ -0,0 +1,122 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Bulkheads together with a replica and db-limiter: the workload pools are cut from the
+// primary and replica pools, so reads still reach the replica and every pool is limited.
+// As in ReadReplicaRoutingTest, nothing replicates into the "replica".
+@SpringBootTest(properties = {
+        "bulkheads.enabled=true",
+        "bulkheads.read.maximum-pool-size=2",
+        "db-limiter.permits=4",
+        "datasource-replica.sticky-after-write=0s"
+})
+@ActiveProfiles("test")
+class BulkheadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:bulkhead_replica;DB_CLOSE_DELAY=-1";
+    private static final DataSource REPLICA_DATABASE = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_DATABASE).load().migrate();
+        registry.add("datasource-replica.url", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        JdbcTemplate replica = new JdbcTemplate(REPLICA_DATABASE);
+        replica.update("delete from users");
+        replica.update("insert into users (id, username, password, email, department, role)"
+                + " values (900001, 'replica_student', 'x', 'rs@test.com', 'Physics', 'STUDENT')");
+
+        userRepository.deleteAll();
+        userService.createUser(new User("primary_student", "student123", "ps@test.com", "Physics", Role.STUDENT));
+    }
+
+    @Test
+    void readOnlyReadWorkload_ReachesReplicaThroughItsOwnPool() throws Exception {
+        double replicaRead = acquired("replica-read");
+        double primaryRead = acquired("read");
+
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("replica_student"));
+
+        assertTrue(acquired("replica-read") > replicaRead);
+        assertEquals(primaryRead, acquired("read"));
+    }
+
+    @Test
+    void everyPool_IsLimited() {
+        // Workload pools take the smaller of db-limiter.permits and their own size
+        assertEquals(2, available("read"));
+        assertEquals(2, available("replica-read"));
+        assertEquals(4, available("primary"));
+        assertEquals(4, available("replica"));
+    }
+
+    private double available(String pool) {
+        Gauge gauge = meterRegistry.find("db.limiter.available").tag("pool", pool).gauge();
+        assertNotNull(gauge, "no limiter on pool " + pool);
+        return gauge.value();
+    }
+
+    private double acquired(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private String token() {
+        UserPrincipal principal = new UserPrincipal(4501L, "bulk_reader", null, null, Role.STUDENT, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
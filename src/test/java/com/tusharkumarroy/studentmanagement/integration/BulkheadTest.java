@@ -0,0 +1,175 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.config.Workload;
+import com.tusharkumarroy.studentmanagement.config.WorkloadRoutingDataSource;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "bulkheads.enabled=true",
+        "bulkheads.auth.maximum-pool-size=2",
+        "bulkheads.read.maximum-pool-size=2",
+        "bulkheads.admin.maximum-pool-size=2",
+        "bulkheads.admin.connection-timeout=250ms"
+})
+@ActiveProfiles("test")
+class BulkheadTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+    private WorkloadRoutingDataSource routing;
+    private User student;
+    private final List<Connection> held = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        routing = (WorkloadRoutingDataSource) dataSource;
+        userRepository.deleteAll();
+        student = userService.createUser(new User("bulk_student", "student123", "bs@test.com", "Physics", Role.STUDENT));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : held) {
+            connection.close();
+        }
+        held.clear();
+        Workload.set(null);
+    }
+
+    @Test
+    void connections_ComeFromTheCurrentWorkloadsPool() throws SQLException {
+        Workload.set(Workload.ADMIN);
+        held.add(dataSource.getConnection());
+        assertEquals(1, routing.getPool(Workload.ADMIN).getHikariPoolMXBean().getActiveConnections());
+
+        // No workload: the main pool
+        Workload.set(null);
+        held.add(dataSource.getConnection());
+        assertEquals(1, routing.getPool(Workload.ADMIN).getHikariPoolMXBean().getActiveConnections());
+    }
+
+    @Test
+    void login_UsesAuthPool() throws Exception {
+        double auth = acquired(Workload.AUTH);
+        double admin = acquired(Workload.ADMIN);
+
+        login();
+
+        assertTrue(acquired(Workload.AUTH) > auth);
+        assertEquals(admin, acquired(Workload.ADMIN));
+    }
+
+    @Test
+    void adminListing_UsesReadPool_MethodOverridesClass() throws Exception {
+        double read = acquired(Workload.READ);
+        double admin = acquired(Workload.ADMIN);
+
+        mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + adminToken()))
+                .andExpect(status().isOk());
+
+        assertTrue(acquired(Workload.READ) > read);
+        assertEquals(admin, acquired(Workload.ADMIN));
+    }
+
+    @Test
+    void export_StreamedOnAdminPool() throws Exception {
+        double admin = acquired(Workload.ADMIN);
+
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export")
+                        .header("Authorization", "Bearer " + adminToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertTrue(acquired(Workload.ADMIN) > admin);
+    }
+
+    @Test
+    void adminPoolExhausted_LoginsAndReadsUnaffected() throws Exception {
+        Workload.set(Workload.ADMIN);
+        held.add(dataSource.getConnection());
+        held.add(dataSource.getConnection());
+        Workload.set(null);
+
+        // Admin writes time out waiting for their own pool...
+        mockMvc.perform(put("/api/admin/unassign/" + student.getId()).header("Authorization", "Bearer " + adminToken()))
+                .andExpect(status().isBadRequest());
+
+        // ...while logins and listings still get connections
+        login();
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + adminToken()))
+                .andExpect(status().isOk());
+    }
+
+    private void login() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"bulk_student\",\"password\":\"student123\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    // Connections taken from the workload's pool so far
+    private double acquired(Workload workload) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", workload.poolName()).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private String adminToken() {
+        UserPrincipal principal = new UserPrincipal(4401L, "bulk_admin", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
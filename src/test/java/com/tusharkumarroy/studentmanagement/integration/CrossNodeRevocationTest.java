@@ -0,0 +1,134 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.StudentManagementApplication;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two nodes on one database: this test's context is the servlet node where users log
+// out and admins act, and a reactive read node runs next to it. Each keeps its own
+// in-memory registry and denylist; the revocation must still reach the reactive node.
+@SpringBootTest
+@ActiveProfiles("test")
+class CrossNodeRevocationTest {
+
+    private static ConfigurableApplicationContext reactiveNode;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc servlet;
+    private WebTestClient reactive;
+    private User student;
+
+    @BeforeAll
+    static void startReactiveNode() {
+        reactiveNode = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .profiles("test", "reactive")
+                .run("--server.port=0", "--management.server.port=0", "--jwt.revocations.poll-interval=PT0.1S",
+                        "--logging.level.com.tusharkumarroy=WARN");
+    }
+
+    @AfterAll
+    static void stopReactiveNode() {
+        reactiveNode.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        servlet = MockMvcBuilders.webAppContextSetup(context).apply(SecurityMockMvcConfigurers.springSecurity()).build();
+        reactive = WebTestClient.bindToApplicationContext(reactiveNode).apply(springSecurity()).configureClient().build();
+        userRepository.deleteAll();
+        student = userService.createUser(new User("xnode_student", "student123", "xs@test.com", "Physics", Role.STUDENT));
+    }
+
+    @Test
+    void logoutOnServletNode_RejectedOnReactiveNode() throws Exception {
+        String token = tokenFor(student);
+        String otherSession = tokenFor(student);
+        assertEquals(HttpStatus.OK, readOnReactiveNode(token));
+
+        servlet.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        awaitRejected(token);
+        assertEquals(HttpStatus.OK, readOnReactiveNode(otherSession));
+    }
+
+    @Test
+    void revokeTokensOnServletNode_RejectedOnReactiveNode() throws Exception {
+        String token = tokenFor(student);
+        assertEquals(HttpStatus.OK, readOnReactiveNode(token));
+
+        userService.revokeTokens(student.getId());
+
+        awaitRejected(token);
+        assertEquals(HttpStatus.OK, readOnReactiveNode(tokenFor(userService.getUserById(student.getId()))));
+    }
+
+    @Test
+    void deleteOnServletNode_RejectedOnReactiveNode() throws Exception {
+        String token = tokenFor(student);
+        assertEquals(HttpStatus.OK, readOnReactiveNode(token));
+
+        userService.deleteUser(student.getId());
+
+        awaitRejected(token);
+    }
+
+    // The reactive node picks revocations up on its next poll
+    private void awaitRejected(String token) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (readOnReactiveNode(token) == HttpStatus.OK) {
+            assertTrue(System.currentTimeMillis() < deadline, "revocation never reached the reactive node");
+            Thread.sleep(50);
+        }
+        assertEquals(HttpStatus.UNAUTHORIZED, readOnReactiveNode(token));
+    }
+
+    private HttpStatus readOnReactiveNode(String token) {
+        return HttpStatus.valueOf(reactive.get().uri("/api/students").header("Authorization", "Bearer " + token)
+                .exchange()
+                .returnResult(String.class)
+                .getStatus()
+                .value());
+    }
+
+    private String tokenFor(User user) {
+        UserPrincipal principal = UserPrincipal.fromUser(user);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
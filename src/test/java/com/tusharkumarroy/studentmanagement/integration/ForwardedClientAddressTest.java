@@ -0,0 +1,48 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real HTTP through Tomcat, where the forwarded client address is resolved. The test
+// connects from loopback, which is a trusted proxy by default.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "rate-limit.ip.capacity=2",
+        "rate-limit.username.capacity=100"
+})
+@ActiveProfiles("test")
+class ForwardedClientAddressTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void loginRateLimit_KeysOnForwardedClient() throws Exception {
+        assertNotEquals(429, loginFrom("203.0.113.10", "forwarded_a"));
+        assertNotEquals(429, loginFrom("203.0.113.10", "forwarded_b"));
+        assertEquals(429, loginFrom("203.0.113.10", "forwarded_c"));
+
+        // Another client behind the same proxy has its own budget
+        assertNotEquals(429, loginFrom("203.0.113.20", "forwarded_c"));
+    }
+
+    private int loginFrom(String client, String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", client)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}"))
+                .build();
+        return this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
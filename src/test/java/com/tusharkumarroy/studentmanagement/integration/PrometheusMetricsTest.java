@@ -0,0 +1,121 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Real HTTP requests, so they pass through the server's observation filter like production traffic,
+// and actuator is on its own port as in production
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "db-limiter.permits=4")
+@ActiveProfiles("test")
+class PrometheusMetricsTest {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userService.createUser(new User("metrics_student", "student123", "ms@test.com", "Physics", Role.STUDENT));
+    }
+
+    @Test
+    void prometheus_ExposesHotPathTimersWithoutTokenOnManagementPort() throws Exception {
+        String token = login();
+        assertEquals(200, send(get("/api/students").header("Authorization", "Bearer " + token)).statusCode());
+
+        HttpResponse<String> scrape = send(HttpRequest.newBuilder(managementUrl("/actuator/prometheus")));
+
+        assertEquals(200, scrape.statusCode());
+        String metrics = scrape.body();
+        // JWT, BCrypt and the user lookup behind login
+        assertHasSeries(metrics, "jwt_seconds_bucket", "operation=\"sign\"");
+        assertHasSeries(metrics, "jwt_seconds_bucket", "operation=\"verify\"");
+        assertHasSeries(metrics, "password_hash_seconds_count", "operation=\"matches\"");
+        assertHasSeries(metrics, "user_details_load_seconds_bucket", "method=\"loadUserByUsername\"");
+        // Service and repository methods
+        assertHasSeries(metrics, "user_service_seconds_bucket", "method=\"createUser\"");
+        assertHasSeries(metrics, "user_service_seconds_bucket", "method=\"getUsersPage\"");
+        assertHasSeries(metrics, "spring_data_repository_invocations_seconds_bucket", "repository=\"UserRepository\"");
+        // Per-endpoint latency buckets, for histogram_quantile()
+        assertHasSeries(metrics, "http_server_requests_seconds_bucket", "uri=\"/api/students\"");
+        assertHasSeries(metrics, "http_server_requests_seconds_bucket", "uri=\"/api/auth/login\"");
+        // Pool saturation
+        assertHasSeries(metrics, "hikaricp_connections_pending", "pool=");
+        assertHasSeries(metrics, "db_limiter_queued", "");
+    }
+
+    @Test
+    void applicationPort_DoesNotServeActuator() throws Exception {
+        assertNotEquals(port, managementPort);
+        assertEquals(403, send(get("/actuator/prometheus")).statusCode());
+        // Not an endpoint there even with a token
+        assertNotEquals(200, send(get("/actuator/prometheus").header("Authorization", "Bearer " + login())).statusCode());
+    }
+
+    @Test
+    void otherActuatorEndpoints_StillNeedAdmin() throws Exception {
+        assertEquals(403, send(HttpRequest.newBuilder(managementUrl("/actuator/metrics"))).statusCode());
+    }
+
+    private static void assertHasSeries(String metrics, String name, String label) {
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith(name) && line.contains(label)),
+                "missing " + name + " with " + label);
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(url("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"metrics_student\",\"password\":\"student123\"}")));
+        assertEquals(200, response.statusCode());
+        Matcher token = ACCESS_TOKEN.matcher(response.body());
+        assertTrue(token.find());
+        return token.group(1);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(url(path));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI url(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private URI managementUrl(String path) {
+        return URI.create("http://localhost:" + managementPort + path);
+    }
+}
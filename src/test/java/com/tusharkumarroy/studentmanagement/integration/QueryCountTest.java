@@ -0,0 +1,112 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The number of SQL statements behind each listing must not depend on how many rows it returns
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryCountTest {
+
+    private static final List<String> LISTINGS = List.of(
+            "/api/students?size=200", "/api/students/unassigned?size=200", "/api/teachers?size=200", "/api/users?size=200",
+            "/api/students?size=200&sort=username", "/api/students?size=200&sort=department&department=Physics",
+            "/api/admin/students?size=200", "/api/admin/teachers?size=200", "/api/admin/users?size=200");
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserPrincipal admin = new UserPrincipal(1L, "query_admin", null, null, Role.ADMIN, 0);
+        adminToken = jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @Test
+    void listingQueryCount_IndependentOfRowCount() throws Exception {
+        for (String listing : LISTINGS) {
+            seed(2, 4);
+            long small = statementsFor(listing);
+
+            seed(20, 60);
+            long large = statementsFor(listing);
+
+            assertEquals(small, large, "statement count of " + listing + " grows with the number of rows");
+        }
+    }
+
+    @Test
+    void loadByUsername_DoesNotJoinTeacher() {
+        seed(1, 1);
+        User student = userRepository.findAll().stream().filter(u -> u.getRole() == Role.STUDENT).findFirst().orElseThrow();
+
+        statistics.clear();
+        userRepository.findByUsername(student.getUsername());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Every student is assigned to one of the teachers
+    private void seed(int teacherCount, int studentCount) {
+        userRepository.deleteAll();
+        List<User> teachers = new ArrayList<>();
+        for (int i = 0; i < teacherCount; i++) {
+            teachers.add(new User("teacher" + i, "encoded", "teacher" + i + "@test.com", "Physics", Role.TEACHER));
+        }
+        userRepository.saveAll(teachers);
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            User student = new User("student" + i, "encoded", "student" + i + "@test.com", "Physics", Role.STUDENT);
+            student.setAssignedTeacher(teachers.get(i % teacherCount));
+            students.add(student);
+        }
+        userRepository.saveAll(students);
+    }
+}
@@ -0,0 +1,183 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.springSecurity;
+
+// The read API on WebFlux + R2DBC, against the same H2 database that JPA writes to
+@SpringBootTest
+@ActiveProfiles({"test", "reactive"})
+class ReactiveReadApiTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private WebTestClient client;
+    private User teacher;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToApplicationContext(context).apply(springSecurity()).configureClient().build();
+        userRepository.deleteAll();
+        teacher = userService.createUser(new User("rx_teacher", "teacher123", "rxt@test.com", "Physics", Role.TEACHER));
+        alice = userService.createUser(new User("rx_alice", "student123", "rxa@test.com", "Physics", Role.STUDENT));
+        userService.createUser(new User("rx_bob", "student123", "rxb@test.com", "Chemistry", Role.STUDENT));
+        userService.createUser(new User("rx_carol", "student123", "rxc@test.com", "Physics", Role.STUDENT));
+        userService.assignStudentToTeacher(alice.getId(), teacher.getId());
+    }
+
+    @Test
+    void listing_PagesWithCursor() {
+        client.get().uri("/api/students?size=2&sort=username").header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.items[0].username").isEqualTo("rx_alice")
+                .jsonPath("$.items[0].assignedTeacherUsername").isEqualTo("rx_teacher")
+                .jsonPath("$.items[1].username").isEqualTo("rx_bob")
+                .jsonPath("$.hasNext").isEqualTo(true);
+
+        String cursor = client.get().uri("/api/students?size=2&sort=username").header("Authorization", bearer())
+                .exchange()
+                .expectBody(String.class).returnResult().getResponseBody()
+                .replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+        client.get().uri("/api/students?size=2&sort=username&cursor=" + cursor).header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].username").isEqualTo("rx_carol")
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    void listing_FiltersAndFields() {
+        client.get().uri("/api/teachers?fields=id,username,assignedStudentCount").header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].assignedStudentCount").isEqualTo(1)
+                .jsonPath("$.items[0].email").doesNotExist();
+
+        client.get().uri("/api/users?department=Chemistry").header("Authorization", bearer())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].username").isEqualTo("rx_bob");
+    }
+
+    @Test
+    void stream_EmitsEveryMatchAsNdjson() {
+        Flux<UserSummary> stream = client.get().uri("/api/students").header("Authorization", bearer())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserSummary.class)
+                .getResponseBody();
+
+        StepVerifier.create(stream.map(UserSummary::getUsername))
+                .expectNext("rx_alice", "rx_bob", "rx_carol")
+                .verifyComplete();
+    }
+
+    @Test
+    void stream_HonoursDemand() {
+        Flux<UserSummary> stream = client.get().uri("/api/users").header("Authorization", bearer())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .returnResult(UserSummary.class)
+                .getResponseBody();
+
+        StepVerifier.create(stream, 1)
+                .expectNextMatches(summary -> summary.getUsername().equals("rx_teacher"))
+                .thenRequest(1)
+                .expectNextMatches(summary -> summary.getUsername().equals("rx_alice"))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void userById_FoundAndMissing() {
+        client.get().uri("/api/users/" + alice.getId()).header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("rx_alice")
+                .jsonPath("$.assignedTeacherId").isEqualTo(teacher.getId());
+
+        client.get().uri("/api/users/999999").header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void invalidParameters_BadRequest() {
+        client.get().uri("/api/users?sort=email").header("Authorization", bearer())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.get().uri("/api/users?cursor=@@").header("Authorization", bearer())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void requests_NeedValidToken() {
+        client.get().uri("/api/students").exchange().expectStatus().isUnauthorized();
+        client.get().uri("/api/students").header("Authorization", "Bearer not-a-jwt")
+                .exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void servletOnlyEndpoints_NotServed() {
+        List<String> paths = List.of("/api/admin/stats", "/api/admin/users/export");
+        for (String path : paths) {
+            client.get().uri(path).header("Authorization", bearer()).exchange().expectStatus().isNotFound();
+        }
+    }
+
+    @Test
+    void noInMemoryUser_JwtIsTheOnlyLogin() {
+        assertNull(context.getBeanProvider(ReactiveUserDetailsService.class).getIfAvailable());
+    }
+
+    private String bearer() {
+        UserPrincipal principal = new UserPrincipal(4301L, "rx_admin", null, null, Role.ADMIN, 0);
+        return "Bearer " + jwtUtil.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,182 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.StudentManagementApplication;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Throughput, latency, peak heap and peak thread count of listing requests with 10,000
+// connections open at once, served by the servlet stack (Tomcat + JDBC) and then by the
+// reactive profile (Netty + R2DBC). Heap and threads are sampled for the whole JVM,
+// which also hosts the load generator, so only the difference between the runs is
+// meaningful. Each connection needs two file descriptors here (client and server end);
+// lower the count with -Dbenchmark.connections=N where the limit is 20,000 or less.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=ReactiveStackBenchmark
+class ReactiveStackBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+    private static final int ROUNDS = 3;
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        Result servlet = run("servlet", new String[] {"test"},
+                "server.tomcat.max-connections=" + (CONNECTIONS + 1_000),
+                "server.tomcat.accept-count=" + CONNECTIONS);
+        Result reactive = run("reactive", new String[] {"test", "reactive"},
+                "reactive-api.r2dbc-url=r2dbc:h2:mem:///stack-reactive");
+
+        System.out.printf("%d connections, %d requests per run%n", CONNECTIONS, CONNECTIONS * ROUNDS);
+        System.out.printf("%-10s %10s %10s %10s %12s %10s %8s%n", "stack", "req/s", "p50 ms", "p99 ms", "peak heap MB",
+                "threads", "errors");
+        for (Result result : List.of(servlet, reactive)) {
+            System.out.printf("%-10s %,10.0f %10.1f %10.1f %12d %10d %8d%n", result.stack, result.throughput, result.p50,
+                    result.p99, result.peakHeap / (1024 * 1024), result.peakThreads, result.errors);
+        }
+        // Servlet errors are reported, not failed: with every worker thread busy, connect
+        // timeouts on a small machine are part of what this measures
+        assertEquals(0, reactive.errors);
+    }
+
+    private Result run(String stack, String[] profiles, String... properties) throws Exception {
+        // As arguments, so they win over the profile's property files
+        List<String> arguments = new ArrayList<>();
+        for (String property : properties) {
+            arguments.add("--" + property);
+        }
+        arguments.add("--server.port=0");
+        arguments.add("--management.server.port=0");
+        arguments.add("--spring.datasource.url=jdbc:h2:mem:stack-" + stack);
+        arguments.add("--logging.level.com.tusharkumarroy=WARN");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .profiles(profiles)
+                .run(arguments.toArray(String[]::new))) {
+            seed(context.getBean(UserRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = token(context.getBean(JwtUtil.class));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(60))
+                    .build();
+
+            load(client, port, token, CONNECTIONS / 10, new long[CONNECTIONS / 10], new AtomicInteger());
+            System.gc();
+
+            int count = CONNECTIONS * ROUNDS;
+            long[] nanos = new long[count];
+            AtomicInteger errors = new AtomicInteger();
+            Sampler sampler = new Sampler();
+            long start = System.nanoTime();
+            load(client, port, token, count, nanos, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sampler.stop();
+
+            Arrays.sort(nanos);
+            return new Result(stack, count / seconds, nanos[count / 2] / 1e6, nanos[count * 99 / 100] / 1e6,
+                    sampler.peakHeap.get(), sampler.peakThreads.get(), errors.get());
+        }
+    }
+
+    // Keeps CONNECTIONS requests outstanding until count have completed. The client opens
+    // a connection per outstanding request and reuses it for the next one.
+    private static void load(HttpClient client, int port, String token, int count, long[] nanos, AtomicInteger errors)
+            throws Exception {
+        Semaphore inFlight = new Semaphore(CONNECTIONS);
+        List<CompletableFuture<?>> pending = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int slot = i;
+            long begin = System.nanoTime();
+            pending.add(client.sendAsync(listing(port, token), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        nanos[slot] = System.nanoTime() - begin;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static HttpRequest listing(int port, String token) {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("\n" + ThreadLocalRandom.current().nextInt(USERS)).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users?size=20&cursor=" + cursor))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .build();
+    }
+
+    private static void seed(UserRepository userRepository) {
+        for (int slice = 0; slice < USERS; slice += 1_000) {
+            List<User> users = new ArrayList<>();
+            for (int i = slice; i < slice + 1_000; i++) {
+                users.add(new User("stack" + i, "encoded", "stack" + i + "@test.com", "Physics", Role.STUDENT));
+            }
+            userRepository.saveAll(users);
+        }
+    }
+
+    private static String token(JwtUtil jwtUtil) {
+        UserPrincipal principal = new UserPrincipal(1L, "stack", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Records the highest heap use and live thread count seen every 50 ms
+    private static class Sampler {
+
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final AtomicInteger peakThreads = new AtomicInteger();
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        Sampler() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            executor.scheduleAtFixedRate(() -> {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+            }, 0, 50, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() throws InterruptedException {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private record Result(String stack, double throughput, double p50, double p99, long peakHeap, int peakThreads,
+                          int errors) {}
+}
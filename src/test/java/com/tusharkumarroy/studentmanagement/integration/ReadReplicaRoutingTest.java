@@ -0,0 +1,130 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.config.ReplicaRoutingDataSource;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.RosterStatsService;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The "replica" is a second H2 database that nothing replicates into, so where a read
+// was served from shows in what it returns
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private static final DataSource REPLICA_DATABASE = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    // The replica needs its schema before startup, when the search index is read from it
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_DATABASE).load().migrate();
+        registry.add("datasource-replica.url", () -> REPLICA_URL);
+        registry.add("datasource-replica.sticky-after-write", () -> "0s");
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RosterStatsService rosterStatsService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSource primaryDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(REPLICA_DATABASE);
+        replica.update("delete from users");
+        replica.update("insert into users (id, username, password, email, department, role)"
+                + " values (900001, 'replica_student', 'x', 'rs@test.com', 'Physics', 'STUDENT')");
+
+        userRepository.deleteAll();
+        userService.createUser(new User("primary_student", "student123", "ps@test.com", "Physics", Role.STUDENT));
+
+        primary = new JdbcTemplate(primaryDataSource);
+        routing = (ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(routing, "stickyNanos", 0L);
+        ReflectionTestUtils.setField(routing, "primaryUntil", System.nanoTime());
+    }
+
+    @Test
+    void readOnlyServiceMethods_ReadFromReplica() {
+        assertEquals(List.of("replica_student"), listedUsernames());
+        assertEquals("replica_student", userService.getUserById(900001L).getUsername());
+        assertEquals("replica_student", userService.getUsersPage(Role.STUDENT, null, UserSort.ID, null, 10)
+                .getItems().get(0).getUsername());
+    }
+
+    @Test
+    void stats_ReadFromReplica() {
+        replica.update("insert into users (id, username, password, email, department, role)"
+                + " values (900002, 'replica_teacher', 'x', 'rt@test.com', 'Physics', 'TEACHER')");
+
+        assertEquals(2, rosterStatsService.getStats().getTotalUsers());
+        assertEquals(1, rosterStatsService.getStats().getTeacherLoad().getTeachers());
+    }
+
+    @Test
+    void writes_GoToPrimary() {
+        userService.createUser(new User("primary_other", "student123", "po@test.com", "Physics", Role.STUDENT));
+
+        assertEquals(2, primary.queryForObject("select count(*) from users", Long.class));
+        assertEquals(1, replica.queryForObject("select count(*) from users", Long.class));
+    }
+
+    @Test
+    void afterWrite_StickyWindowKeepsReadsOnPrimary() {
+        ReflectionTestUtils.setField(routing, "stickyNanos", Duration.ofHours(1).toNanos());
+
+        userService.createUser(new User("primary_sticky", "student123", "pst@test.com", "Physics", Role.STUDENT));
+
+        assertEquals(List.of("primary_student", "primary_sticky"), listedUsernames());
+        // Global rather than per writer: a reader on another thread sees the write too
+        // (another page size, so the query cache cannot answer for the database)
+        assertEquals(2, CompletableFuture.supplyAsync(() ->
+                userService.getUsersPage(null, null, UserSort.ID, null, 10).getSize()).join());
+    }
+
+    private List<String> listedUsernames() {
+        return userService.getUsersPage(null, null, UserSort.ID, null, null).getItems().stream()
+                .map(UserSummary::getUsername).toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.StudentManagementApplication;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Throughput and latency of listing requests with 1,000 in flight, served on Tomcat's
+// platform-thread pool and then on virtual threads behind the connection limiter.
+// Random cursors keep most pages out of the query cache, so each request does real
+// database work. H2 answers in microseconds, so this shows the cost of each mode
+// rather than the gain from waiting on a remote database.
+// Virtual threads need Java 21; on older JVMs both runs use platform threads.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=RequestThreadingBenchmark
+class RequestThreadingBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int IN_FLIGHT = 1_000;
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version() + ": virtual threads unavailable, both runs use platform threads");
+        }
+        Result platform = run("platform", "spring.threads.virtual.enabled=false", "db-limiter.permits=0");
+        Result virtual = run("virtual", "spring.threads.virtual.enabled=true", "db-limiter.permits=10");
+
+        System.out.printf("%-10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %,10.0f %10.1f %10.1f %8d%n", result.mode, result.throughput, result.p50, result.p99,
+                    result.errors);
+        }
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private Result run(String mode, String... properties) throws Exception {
+        List<String> settings = new ArrayList<>(List.of(properties));
+        settings.add("server.port=0");
+        settings.add("spring.datasource.url=jdbc:h2:mem:threading-" + mode);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+                .profiles("test")
+                .properties(settings.toArray(String[]::new))
+                .run()) {
+            seed(context.getBean(UserRepository.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = token(context.getBean(JwtUtil.class));
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            load(client, port, token, WARMUP, new long[WARMUP], new AtomicInteger());
+            long[] nanos = new long[REQUESTS];
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            load(client, port, token, REQUESTS, nanos, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(nanos);
+            return new Result(mode, REQUESTS / seconds, nanos[REQUESTS / 2] / 1e6, nanos[REQUESTS * 99 / 100] / 1e6,
+                    errors.get());
+        }
+    }
+
+    // Keeps IN_FLIGHT requests outstanding until count have completed
+    private static void load(HttpClient client, int port, String token, int count, long[] nanos, AtomicInteger errors)
+            throws Exception {
+        Semaphore inFlight = new Semaphore(IN_FLIGHT);
+        List<CompletableFuture<?>> pending = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquire();
+            int slot = i;
+            long begin = System.nanoTime();
+            pending.add(client.sendAsync(listing(port, token), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        nanos[slot] = System.nanoTime() - begin;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static HttpRequest listing(int port, String token) {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("\n" + ThreadLocalRandom.current().nextInt(USERS)).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users?size=20&cursor=" + cursor))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private static void seed(UserRepository userRepository) {
+        for (int slice = 0; slice < USERS; slice += 1_000) {
+            List<User> users = new ArrayList<>();
+            for (int i = slice; i < slice + 1_000; i++) {
+                users.add(new User("thread" + i, "encoded", "thread" + i + "@test.com", "Physics", Role.STUDENT));
+            }
+            userRepository.saveAll(users);
+        }
+    }
+
+    private static String token(JwtUtil jwtUtil) {
+        UserPrincipal principal = new UserPrincipal(1L, "threading", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private record Result(String mode, double throughput, double p50, double p99, int errors) {}
+}
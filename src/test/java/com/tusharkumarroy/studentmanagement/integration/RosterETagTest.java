@@ -0,0 +1,121 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RosterETagTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        userRepository.deleteAll();
+        student = userService.createUser(new User("etag_student", "student123", "es@test.com", "Physics", Role.STUDENT));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listing_MatchingETag_Returns304WithoutQuerying() throws Exception {
+        String etag = etagOf("/api/students");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token(Role.STUDENT))
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listing_ETagIsSharedAcrossListingsAndFields() throws Exception {
+        String etag = etagOf("/api/students");
+
+        assertEquals(etag, etagOf("/api/teachers?fields=id,username"));
+        assertEquals(etag, etagOf("/api/admin/users"));
+    }
+
+    @Test
+    void listing_AfterWrite_ReturnsNewETagAndFreshBody() throws Exception {
+        String before = etagOf("/api/students");
+
+        userService.createUser(new User("etag_new", "student123", "en@test.com", "Physics", Role.STUDENT));
+
+        String after = mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token(Role.STUDENT))
+                        .header("If-None-Match", before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void listing_ChangedByEveryKindOfWrite() throws Exception {
+        User teacher = userService.createUser(new User("etag_teacher", "teacher123", "et@test.com", "Physics", Role.TEACHER));
+
+        String etag = etagOf("/api/students");
+        userService.assignStudentToTeacher(student.getId(), teacher.getId());
+        assertNotEquals(etag, etag = etagOf("/api/students"));
+        userService.unassignAllStudents(teacher.getId());
+        assertNotEquals(etag, etag = etagOf("/api/students"));
+        userService.deleteUser(teacher.getId());
+        assertNotEquals(etag, etagOf("/api/students"));
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(get(path).header("Authorization", "Bearer " + token(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private String token(Role role) {
+        UserPrincipal principal = new UserPrincipal(4001L, "etag_" + role.name().toLowerCase(), null, null, role, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.RosterReadCoalescer;
+import com.tusharkumarroy.studentmanagement.service.SingleFlight;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RosterReadCoalescingTest {
+
+    private static final int CALLERS = 20;
+
+    @Autowired
+    private RosterReadCoalescer rosterReads;
+
+    @MockitoSpyBean
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            students.add(new User("flight" + i, "encoded", "flight" + i + "@test.com", "Physics", Role.STUDENT));
+        }
+        userRepository.saveAll(students);
+
+        // Hold every query until all callers have arrived
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(userService).getUsersPage(any(), any(), any(), any(), any());
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void simultaneousIdenticalReads_RunOneQuery() throws Exception {
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(threads.submit(() -> readAs("ROLE_STUDENT")));
+        }
+        awaitCallers(CALLERS);
+        release.countDown();
+
+        byte[] shared = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<byte[]> result : results) {
+            assertSame(shared, result.get(10, TimeUnit.SECONDS));
+        }
+        assertTrue(new String(shared).contains("\"flight0\""));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        verify(userService, times(1)).getUsersPage(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void differentAuthorities_DoNotShareResults() throws Exception {
+        Future<byte[]> student = threads.submit(() -> readAs("ROLE_STUDENT"));
+        Future<byte[]> admin = threads.submit(() -> readAs("ROLE_ADMIN"));
+        awaitCallers(2);
+        release.countDown();
+
+        assertNotSame(student.get(10, TimeUnit.SECONDS), admin.get(10, TimeUnit.SECONDS));
+        verify(userService, times(2)).getUsersPage(any(), any(), any(), any(), any());
+    }
+
+    private byte[] readAs(String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "caller", null, List.of(new SimpleGrantedAuthority(authority))));
+        try {
+            return rosterReads.page(Role.STUDENT, null, UserSort.ID, null, 50, null);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void awaitCallers(int callers) throws InterruptedException {
+        SingleFlight<?, ?> pages = (SingleFlight<?, ?>) ReflectionTestUtils.getField(rosterReads, "pages");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pages.callers() < callers) {
+            assertTrue(System.nanoTime() < deadline, "callers never reached " + callers);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.RosterStats;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.RosterStatsService;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RosterStatsTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RosterStatsService rosterStatsService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private User physicsTeacher;
+    private User chemistryTeacher;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        userRepository.deleteAll();
+        userService.createUser(new User("stats_admin", "admin123", "sa@test.com", "Office", Role.ADMIN));
+        physicsTeacher = userService.createUser(new User("stats_pt", "teacher123", "spt@test.com", "Physics", Role.TEACHER));
+        chemistryTeacher = userService.createUser(new User("stats_ct", "teacher123", "sct@test.com", "Chemistry", Role.TEACHER));
+        userService.createUser(new User("stats_idle", "teacher123", "sit@test.com", "Physics", Role.TEACHER));
+        alice = userService.createUser(new User("stats_alice", "student123", "sal@test.com", "Physics", Role.STUDENT));
+        bob = userService.createUser(new User("stats_bob", "student123", "sbo@test.com", "Physics", Role.STUDENT));
+        User carol = userService.createUser(new User("stats_carol", "student123", "sca@test.com", "Chemistry", Role.STUDENT));
+        userService.createUser(new User("stats_dave", "student123", "sda@test.com", "Chemistry", Role.STUDENT));
+        userService.assignStudentToTeacher(alice.getId(), physicsTeacher.getId());
+        userService.assignStudentToTeacher(bob.getId(), physicsTeacher.getId());
+        userService.assignStudentToTeacher(carol.getId(), chemistryTeacher.getId());
+    }
+
+    @Test
+    void stats_ReturnsAggregates() {
+        RosterStats stats = rosterStatsService.getStats();
+
+        assertEquals(8, stats.getTotalUsers());
+        assertEquals(1, stats.getUsersByRole().get(Role.ADMIN));
+        assertEquals(3, stats.getUsersByRole().get(Role.TEACHER));
+        assertEquals(4, stats.getUsersByRole().get(Role.STUDENT));
+        assertTrue(stats.getUsersByDepartment().stream().anyMatch(row ->
+                row.getDepartment().equals("Physics") && row.getRole() == Role.TEACHER && row.getUsers() == 2));
+        assertEquals(1, stats.getUnassignedStudents());
+
+        RosterStats.TeacherLoad load = stats.getTeacherLoad();
+        assertEquals(3, load.getTeachers());
+        assertEquals(0, load.getMin());
+        assertEquals(2, load.getMax());
+        assertEquals(1.0, load.getAvg(), 1e-9);
+        assertEquals(3, load.getHistogram().size());
+        assertEquals(0, load.getHistogram().get(0).getStudents());
+        assertEquals(1, load.getHistogram().get(0).getTeachers());
+    }
+
+    @Test
+    void stats_RepeatedRead_RunsNoSql() {
+        rosterStatsService.getStats();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        rosterStatsService.getStats();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void stats_InvalidatedByWrites() {
+        assertEquals(1, rosterStatsService.getStats().getUnassignedStudents());
+
+        userService.unassignAllStudents(physicsTeacher.getId());
+        assertEquals(3, rosterStatsService.getStats().getUnassignedStudents());
+
+        userService.deleteUser(bob.getId());
+        RosterStats stats = rosterStatsService.getStats();
+        assertEquals(3, stats.getUsersByRole().get(Role.STUDENT));
+        assertEquals(2, stats.getUnassignedStudents());
+    }
+
+    @Test
+    void statsEndpoint_AdminOnly() throws Exception {
+        mockMvc.perform(get("/api/admin/stats").header("Authorization", "Bearer " + token(Role.ADMIN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(8))
+                .andExpect(jsonPath("$.usersByRole.STUDENT").value(4))
+                .andExpect(jsonPath("$.teacherLoad.max").value(2));
+
+        mockMvc.perform(get("/api/admin/stats").header("Authorization", "Bearer " + token(Role.TEACHER)))
+                .andExpect(status().isForbidden());
+    }
+
+    private String token(Role role) {
+        UserPrincipal principal = new UserPrincipal(4101L, "stats_" + role.name().toLowerCase(), null, null, role, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
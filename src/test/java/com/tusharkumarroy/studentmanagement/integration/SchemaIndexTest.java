@@ -0,0 +1,110 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The migrated schema must serve the hot lookups from indexes on a realistically sized table
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SchemaIndexTest {
+
+    private static final int ROWS = 100_000;
+    private static final int TEACHERS = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("insert into users (username, password, email, department, role)"
+                + " select 'user' || x, 'encoded', 'user' || x || '@test.com', 'Department' || mod(x, 20),"
+                + " case when x <= " + TEACHERS + " then 'TEACHER' when x = " + (TEACHERS + 1) + " then 'ADMIN' else 'STUDENT' end"
+                + " from system_range(1, " + ROWS + ")");
+        // Every other student gets one of the teachers
+        jdbcTemplate.update("update users set teacher_id = (select min(id) from users) + mod(id, " + TEACHERS + ")"
+                + " where role = 'STUDENT' and mod(id, 2) = 0");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void userIds_ComeOnlyFromUsersSequence() {
+        Map<String, Object> id = jdbcTemplate.queryForMap("select is_identity, column_default from information_schema.columns"
+                + " where table_name = 'USERS' and column_name = 'ID'");
+
+        assertEquals("NO", id.get("IS_IDENTITY"));
+        assertTrue(String.valueOf(id.get("COLUMN_DEFAULT")).toUpperCase().contains("USERS_SEQ"), "default: " + id.get("COLUMN_DEFAULT"));
+    }
+
+    @Test
+    void unassignedStudents_UseRoleTeacherIndex() {
+        assertUsesIndex("select * from users where role = 'STUDENT' and teacher_id is null", "IDX_USERS_ROLE_TEACHER_ID");
+    }
+
+    @Test
+    void studentsOfTeacher_UseTeacherIndex() {
+        // H2 also indexes the foreign key itself, so either index will do; Postgres relies on ours
+        String plan = explain("select * from users where teacher_id = 42");
+        assertTrue(plan.contains("TEACHER_ID") && !plan.toLowerCase().contains("tablescan"), "expected an index seek in plan:\n" + plan);
+    }
+
+    @Test
+    void keysetPages_UseRoleSortIndexes() {
+        assertUsesIndex("select * from users where role = 'STUDENT' and username > 'user5' order by username limit 50",
+                "IDX_USERS_ROLE_USERNAME");
+        assertUsesIndex("select * from users where role = 'STUDENT' and id > 90000 order by id limit 50",
+                "IDX_USERS_ROLE_ID");
+        assertUsesIndex("select * from users where role = 'STUDENT' and department = 'Department7' and id > 500 order by id limit 50",
+                "IDX_USERS_ROLE_DEPARTMENT_ID");
+    }
+
+    @Test
+    void deepKeysetPage_CostsNoMoreThanFirstPage() {
+        String page = "select id from users where role = 'STUDENT' and id > ? order by id limit 50";
+        long firstId = jdbcTemplate.queryForObject("select min(id) from users", Long.class);
+
+        long first = timeNanos(() -> jdbcTemplate.queryForList(page, Long.class, firstId));
+        long deep = timeNanos(() -> jdbcTemplate.queryForList(page, Long.class, firstId + ROWS - 100));
+
+        assertTrue(deep < first * 5 + TimeUnit.MILLISECONDS.toNanos(5),
+                "deep page took " + deep / 1000 + " us vs first page " + first / 1000 + " us");
+    }
+
+    private void assertUsesIndex(String query, String index) {
+        String plan = explain(query);
+        assertTrue(plan.toUpperCase().contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("explain " + query, String.class);
+    }
+
+    // Best of several runs, after warm-up
+    private long timeNanos(Runnable query) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            query.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,142 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private String token;
+    private User teacher;
+    private User student;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        UserPrincipal reader = new UserPrincipal(4601L, "cache_reader", null, null, Role.STUDENT, 0);
+        token = jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(reader, null, reader.getAuthorities()));
+        userRepository.deleteAll();
+        teacher = userRepository.save(new User("cache_teacher", "encoded", "ct@test.com", "Physics", Role.TEACHER));
+        student = userRepository.save(new User("cache_student", "encoded", "cs@test.com", "Physics", Role.STUDENT));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Sent without If-None-Match, so the request gets past the ETag check every time
+    @Test
+    void studentListing_RepeatedRequest_ServedFromQueryCache() throws Exception {
+        listStudents().andExpect(status().isOk());
+
+        statistics.clear();
+        listStudents()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("cache_student"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void entityLoad_RepeatedRead_ServedFromEntityCache() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.getReferenceById(teacher.getId()).getUsername());
+
+        statistics.clear();
+        String username = transactionTemplate.execute(status -> userRepository.getReferenceById(teacher.getId()).getUsername());
+
+        assertEquals("cache_teacher", username);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findById_AfterCachedRead_StillFetchesTeacher() {
+        userService.assignStudentToTeacher(student.getId(), teacher.getId());
+        userService.getUserById(student.getId());
+
+        // Outside any transaction: the teacher must already be loaded
+        assertEquals("cache_teacher", userRepository.findById(student.getId()).orElseThrow().getAssignedTeacher().getUsername());
+    }
+
+    @Test
+    void studentListing_InvalidatedByAssignment() throws Exception {
+        listStudents().andExpect(jsonPath("$.items[0].assignedTeacherId").doesNotExist());
+
+        userService.assignStudentToTeacher(student.getId(), teacher.getId());
+
+        listStudents().andExpect(jsonPath("$.items[0].assignedTeacherUsername").value("cache_teacher"));
+    }
+
+    @Test
+    void studentListing_InvalidatedByCreateAndUpdate() throws Exception {
+        listStudents().andExpect(jsonPath("$.items.length()").value(1));
+
+        userService.createUser(new User("cache_new", "student123", "cn@test.com", "Physics", Role.STUDENT));
+        listStudents().andExpect(jsonPath("$.items.length()").value(2));
+
+        User changes = new User("cache_student", "", "cs@test.com", "Chemistry", Role.STUDENT);
+        userService.updateUser(student.getId(), changes);
+
+        listStudents().andExpect(jsonPath("$.items[0].department").value("Chemistry"));
+        assertEquals("Chemistry", userService.getUserById(student.getId()).getDepartment());
+    }
+
+    @Test
+    void bulkMove_InvalidatesCachedEntities() {
+        userService.assignStudentToTeacher(student.getId(), teacher.getId());
+        User other = userRepository.save(new User("cache_other", "encoded", "co@test.com", "Physics", Role.TEACHER));
+        assertEquals(teacher.getId(), userService.getUserById(student.getId()).getAssignedTeacher().getId());
+
+        userService.moveStudents(teacher.getId(), other.getId());
+
+        assertEquals(other.getId(), userService.getUserById(student.getId()).getAssignedTeacher().getId());
+    }
+
+    private ResultActions listStudents() throws Exception {
+        return mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token));
+    }
+}
@@ -0,0 +1,109 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.TokenVersionRegistry;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StatelessAuthenticationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // The controller's own queries are not under test, only the authentication path
+    @MockitoBean
+    private UserService userService;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        when(userService.getUsersPage(Role.STUDENT, null, UserSort.ID, null, null)).thenReturn(new PageResponse<>(List.of(), null));
+    }
+
+    @Test
+    void authenticatedGet_RunsNoSql() throws Exception {
+        String token = tokenFor(new UserPrincipal(1001L, "stateless_student", null, null, Role.STUDENT, 0));
+
+        statistics.clear();
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void tokenWithOutdatedVersion_IsRejected() throws Exception {
+        String token = tokenFor(new UserPrincipal(1002L, "demoted_teacher", null, null, Role.TEACHER, 0));
+        tokenVersions.publish(1002L, 1);
+
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tokenOfDeletedUser_IsRejected() throws Exception {
+        String token = tokenFor(new UserPrincipal(1003L, "deleted_student", null, null, Role.STUDENT, 0));
+        tokenVersions.revokeAll(1003L);
+
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void loggedOutToken_IsRejected() throws Exception {
+        String token = tokenFor(new UserPrincipal(1004L, "logged_out_student", null, null, Role.STUDENT, 0));
+        String otherSession = tokenFor(new UserPrincipal(1004L, "logged_out_student", null, null, Role.STUDENT, 0));
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/students").header("Authorization", "Bearer " + otherSession))
+                .andExpect(status().isOk());
+    }
+
+    private String tokenFor(UserPrincipal principal) {
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,99 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserExportTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson_StreamsSelectedFields() throws Exception {
+        User teacher = userRepository.save(new User("export_teacher", "encoded", "et@test.com", "Physics", Role.TEACHER));
+        User student = new User("export_student", "encoded", "es@test.com", "Physics", Role.STUDENT);
+        student.setAssignedTeacher(teacher);
+        userRepository.save(student);
+
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export?role=student&fields=username,assignedTeacherUsername")
+                        .header("Authorization", "Bearer " + adminToken()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("{\"username\":\"export_student\",\"assignedTeacherUsername\":\"export_teacher\"}\n", body);
+    }
+
+    @Test
+    void exportCsv_Gzipped_QuotesSpecialCharacters() throws Exception {
+        userRepository.save(new User("csv_student", "encoded", "cs@test.com", "Physics, Applied", Role.STUDENT));
+
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export?format=csv&fields=username,department")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String csv = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("username,department\ncsv_student,\"Physics, Applied\"\n", csv);
+    }
+
+    @Test
+    void export_UnknownFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/admin/users/export?format=xml").header("Authorization", "Bearer " + adminToken()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String adminToken() {
+        UserPrincipal admin = new UserPrincipal(3001L, "export_admin", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.ImportReport;
+import com.tusharkumarroy.studentmanagement.dto.UserFileFormat;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.UserImportService;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rows per second onboarding 100,000 students through the bulk import, against one
+// createUser call per student (what POST /api/admin/users costs). Both hash with the
+// test profile's BCrypt strength, so the difference is the per-row database work.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=UserImportBenchmark
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportBenchmark {
+
+    private static final int IMPORT_ROWS = 100_000;
+    private static final int SINGLE_ROWS = 2_000;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rowsPerSecond() throws Exception {
+        userRepository.deleteAll();
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            userService.createUser(new User("single" + i, "student123", "single" + i + "@test.com", "Physics", Role.STUDENT));
+        }
+        double singleRate = SINGLE_ROWS / seconds(start);
+
+        userRepository.deleteAll();
+        StringBuilder csv = new StringBuilder("username,password,email,department,role\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append("bulk").append(i).append(",student123,bulk").append(i).append("@test.com,Physics,STUDENT\n");
+        }
+        byte[] upload = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        start = System.nanoTime();
+        ImportReport report = userImportService.importUsers(new ByteArrayInputStream(upload), UserFileFormat.CSV);
+        double importRate = IMPORT_ROWS / seconds(start);
+
+        System.out.printf("createUser per row : %,10.0f rows/s (%,d rows)%n", singleRate, SINGLE_ROWS);
+        System.out.printf("bulk import        : %,10.0f rows/s (%,d rows)%n", importRate, IMPORT_ROWS);
+        System.out.printf("speedup            : %10.1fx%n", importRate / singleRate);
+
+        assertEquals(IMPORT_ROWS, report.getImported());
+        assertTrue(importRate > singleRate, "bulk import should beat one createUser per row");
+        userRepository.deleteAll();
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,170 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.ImportReport;
+import com.tusharkumarroy.studentmanagement.dto.UserFileFormat;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserImportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        userRepository.deleteAll();
+        userRepository.save(new User("existing", "encoded", "existing@test.com", "Physics", Role.STUDENT));
+    }
+
+    @Test
+    void importCsv_ImportsValidRowsAndReportsTheRest() throws Exception {
+        String csv = """
+                username,email,password,department,role
+                alice,alice@test.com,secret1,Physics,
+                bob,bob@test.com,secret2,"Physics, Applied",teacher
+                existing,other@test.com,secret3,Physics,STUDENT
+                carol,not-an-email,secret4,Physics,STUDENT
+                dave,dave@test.com,secret5,Physics,PRINCIPAL
+                alice,alice2@test.com,secret6,Physics,STUDENT
+                erin,erin@test.com
+                """;
+
+        ImportReport report = importCsv(csv);
+
+        assertEquals(2, report.getImported());
+        assertEquals(5, report.getFailed());
+        assertEquals("Username already exists", errorAt(report, 4));
+        assertEquals("Email should be valid", errorAt(report, 5));
+        assertEquals("Invalid role: PRINCIPAL", errorAt(report, 6));
+        assertEquals("Duplicate username in file", errorAt(report, 7));
+        assertEquals("Expected 5 columns but found 2", errorAt(report, 8));
+
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertEquals(Role.STUDENT, alice.getRole());
+        assertTrue(passwordEncoder.matches("secret1", alice.getPassword()));
+        User bob = userRepository.findByUsername("bob").orElseThrow();
+        assertEquals(Role.TEACHER, bob.getRole());
+        assertEquals("Physics, Applied", bob.getDepartment());
+    }
+
+    @Test
+    void importCsv_MissingColumn_IsRejected() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> importCsv("username,password,department\nalice,secret,Physics\n"));
+
+        assertEquals("Missing CSV columns: email", error.getMessage());
+    }
+
+    @Test
+    void importCsv_InsertsInBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("username,password,email,department\n");
+        for (int i = 0; i < 600; i++) {
+            csv.append("batch").append(i).append(",secret,batch").append(i).append("@test.com,Physics\n");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportReport report = importCsv(csv.toString());
+
+        assertEquals(600, report.getImported());
+        assertEquals(601, userRepository.count());
+        // Per 500-row chunk: two duplicate checks, ten sequence calls and one insert batch
+        assertTrue(statistics.getPrepareStatementCount() < 50,
+                "statements prepared: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void importEndpoint_AcceptsNdjson() throws Exception {
+        String ndjson = """
+                {"username":"frank","password":"secret","email":"frank@test.com","department":"Chemistry"}
+                {"username":"grace","password":"secret","email":"grace@test.com","department":"Chemistry","role":"TEACHER"}
+                not json
+                """;
+
+        mockMvc.perform(post("/api/admin/users/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Malformed JSON object"));
+
+        assertEquals(Role.TEACHER, userRepository.findByUsername("grace").orElseThrow().getRole());
+    }
+
+    @Test
+    void importEndpoint_UnsupportedFormat_Returns415() throws Exception {
+        mockMvc.perform(post("/api/admin/users/import")
+                        .header("Authorization", "Bearer " + adminToken())
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<users/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private ImportReport importCsv(String csv) throws Exception {
+        return userImportService.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                UserFileFormat.CSV);
+    }
+
+    private static String errorAt(ImportReport report, int line) {
+        return report.getErrors().stream()
+                .filter(error -> error.getLine() == line)
+                .map(ImportReport.RowError::getMessage)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String adminToken() {
+        UserPrincipal admin = new UserPrincipal(2001L, "import_admin", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Heap allocated to list and serialize 10,000 students: managed User entities (what the
+// listings returned before) against UserSummary projections.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=UserListingAllocationBenchmark
+@SpringBootTest
+@ActiveProfiles("test")
+class UserListingAllocationBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void allocationPerListing() {
+        userRepository.deleteAll();
+        User teacher = userRepository.save(new User("bench_teacher", "encoded", "bench_teacher@test.com", "Physics", Role.TEACHER));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User student = new User("bench_student" + i, "encoded", "bench" + i + "@test.com", "Physics", Role.STUDENT);
+            student.setAssignedTeacher(i % 2 == 0 ? teacher : null);
+            students.add(student);
+        }
+        userRepository.saveAll(students);
+
+        // Same transaction boundary as a request with open-session-in-view
+        long entities = allocatedBytes(() -> transactionTemplate.execute(status ->
+                jsonMapper.writeValueAsBytes(userRepository.findAll())));
+        long summaries = allocatedBytes(() -> transactionTemplate.execute(status ->
+                jsonMapper.writeValueAsBytes(userRepository.findPageOrderById(null, null, 0L, Limit.of(ROWS + 1)))));
+
+        System.out.printf("entities  : %,14d bytes per %,d-row listing%n", entities, ROWS);
+        System.out.printf("summaries : %,14d bytes per %,d-row listing%n", summaries, ROWS);
+        System.out.printf("reduction : %13.1f%%%n", 100.0 * (entities - summaries) / entities);
+
+        assertTrue(summaries < entities, "projections should allocate less than managed entities");
+    }
+
+    private long allocatedBytes(Supplier<byte[]> listing) {
+        listing.get(); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = threads.getCurrentThreadAllocatedBytes();
+            listing.get();
+            best = Math.min(best, threads.getCurrentThreadAllocatedBytes() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,167 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.dto.PageResponse;
+import com.tusharkumarroy.studentmanagement.dto.UserSort;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.dto.UserSummary;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserPaginationTest {
+
+    private static final String[] DEPARTMENTS = {"Physics", "Mathematics", "Chemistry"};
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            users.add(new User(String.format("student%02d", 24 - i), "encoded", "s" + i + "@test.com",
+                    DEPARTMENTS[i % 3], Role.STUDENT));
+        }
+        users.add(new User("teacher", "encoded", "t@test.com", "Physics", Role.TEACHER));
+        userRepository.saveAll(users);
+    }
+
+    @Test
+    void pagingById_VisitsEveryStudentOnce() {
+        List<UserSummary> seen = readAll(Role.STUDENT, null, UserSort.ID, 10);
+
+        assertEquals(25, seen.size());
+        assertTrue(isSorted(seen, Comparator.comparing(UserSummary::getId)));
+        assertTrue(seen.stream().allMatch(user -> user.getRole() == Role.STUDENT));
+    }
+
+    @Test
+    void pagingByUsername_ReturnsUsernameOrder() {
+        List<UserSummary> seen = readAll(Role.STUDENT, null, UserSort.USERNAME, 7);
+
+        assertEquals(25, seen.size());
+        assertEquals("student00", seen.get(0).getUsername());
+        assertTrue(isSorted(seen, Comparator.comparing(UserSummary::getUsername)));
+    }
+
+    @Test
+    void pagingByDepartment_WithFilter_ReturnsOnlyThatDepartment() {
+        List<UserSummary> seen = readAll(null, "Physics", UserSort.DEPARTMENT, 4);
+
+        // 9 Physics students plus the Physics teacher
+        assertEquals(10, seen.size());
+        assertTrue(seen.stream().allMatch(user -> user.getDepartment().equals("Physics")));
+        assertTrue(isSorted(seen, Comparator.comparing(UserSummary::getId)));
+    }
+
+    @Test
+    void pagingByDepartment_TiesBrokenById() {
+        List<UserSummary> seen = readAll(Role.STUDENT, null, UserSort.DEPARTMENT, 5);
+
+        assertEquals(25, seen.size());
+        assertTrue(isSorted(seen, Comparator.comparing(UserSummary::getDepartment).thenComparing(UserSummary::getId)));
+    }
+
+    @Test
+    void pageSize_IsCappedAndLastPageHasNoCursor() {
+        PageResponse<UserSummary> page = userService.getUsersPage(Role.STUDENT, null, UserSort.ID, null, 10_000);
+
+        assertEquals(25, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void unassignedPages_ReachStudentsBehindAssignedOnes() {
+        User teacher = userRepository.findByUsername("teacher").orElseThrow();
+        List<User> students = userRepository.findAll().stream()
+                .filter(user -> user.getRole() == Role.STUDENT)
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+        // Only the last two students by id stay unassigned
+        userService.assignStudentsToTeacher(students.subList(0, 23).stream().map(User::getId).toList(), teacher.getId());
+
+        List<UserSummary> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<UserSummary> page = userService.getUnassignedStudentsPage(cursor, 1);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(students.get(23).getId(), students.get(24).getId()),
+                seen.stream().map(UserSummary::getId).toList());
+        assertTrue(seen.stream().allMatch(user -> user.getAssignedTeacherId() == null));
+    }
+
+    @Test
+    void invalidCursor_IsRejected() {
+        assertThrows(RuntimeException.class,
+                () -> userService.getUsersPage(Role.STUDENT, null, UserSort.ID, "not a cursor!", 10));
+    }
+
+    @Test
+    void summaries_CarryTeacherAndStudentCount() {
+        User teacher = userRepository.findByUsername("teacher").orElseThrow();
+        User student = userRepository.findByUsername("student00").orElseThrow();
+        student.setAssignedTeacher(teacher);
+        userRepository.save(student);
+
+        List<UserSummary> seen = readAll(null, "Physics", UserSort.USERNAME, 50);
+        UserSummary assigned = seen.stream().filter(user -> user.getUsername().equals("student00")).findFirst().orElseThrow();
+        UserSummary teacherSummary = seen.get(seen.size() - 1);
+
+        assertEquals(teacher.getId(), assigned.getAssignedTeacherId());
+        assertEquals("teacher", assigned.getAssignedTeacherUsername());
+        assertEquals("teacher", teacherSummary.getUsername());
+        assertEquals(1, teacherSummary.getAssignedStudentCount());
+    }
+
+    @Test
+    void fieldSelection_KeepsOnlyRequestedFields() {
+        UserSummary summary = userService.getUsersPage(Role.STUDENT, null, UserSort.ID, null, 1).getItems().get(0);
+
+        assertEquals(List.of("id", "username"), List.copyOf(summary.select(UserSummary.parseFields("username, id")).keySet()));
+        assertNull(UserSummary.parseFields(""));
+        assertThrows(RuntimeException.class, () -> UserSummary.parseFields("username,password"));
+    }
+
+    private List<UserSummary> readAll(Role role, String department, UserSort sort, int size) {
+        List<UserSummary> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<UserSummary> page = userService.getUsersPage(role, department, sort, cursor, size);
+            assertTrue(page.getSize() <= size);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static boolean isSorted(List<UserSummary> users, Comparator<UserSummary> order) {
+        for (int i = 1; i < users.size(); i++) {
+            if (order.compare(users.get(i - 1), users.get(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
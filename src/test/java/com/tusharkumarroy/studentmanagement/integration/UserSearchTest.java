@@ -0,0 +1,114 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserSearchIndex;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSearchTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserSearchIndex searchIndex;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        userRepository.deleteAll();
+        alice = userService.createUser(new User("alice_smith", "student123", "alice@school.edu", "Computer Science", Role.STUDENT));
+        userService.createUser(new User("bob_jones", "teacher123", "bjones@school.edu", "Mathematics", Role.TEACHER));
+    }
+
+    @Test
+    void search_Substring_ReturnsSummaries() throws Exception {
+        mockMvc.perform(get("/api/users/search?q=SMITH").header("Authorization", "Bearer " + token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value("alice_smith"))
+                .andExpect(jsonPath("$[0].department").value("Computer Science"));
+    }
+
+    @Test
+    void search_RoleFilter() throws Exception {
+        mockMvc.perform(get("/api/users/search?q=school&role=teacher").header("Authorization", "Bearer " + token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].username").value("bob_jones"));
+    }
+
+    @Test
+    void search_FollowsUpdatesAndDeletes() throws Exception {
+        userService.updateUser(alice.getId(), new User("alice_brown", "", "alice@school.edu", "Computer Science", Role.STUDENT));
+
+        mockMvc.perform(get("/api/users/search?q=smith").header("Authorization", "Bearer " + token()))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/users/search?q=brown").header("Authorization", "Bearer " + token()))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        userService.deleteUser(alice.getId());
+
+        mockMvc.perform(get("/api/users/search?q=brown").header("Authorization", "Bearer " + token()))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void search_IndexDisabled_FallsBackToDatabase() throws Exception {
+        ReflectionTestUtils.setField(searchIndex, "enabled", false);
+        try {
+            mockMvc.perform(get("/api/users/search?q=_smi").header("Authorization", "Bearer " + token()))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].username").value("alice_smith"));
+            mockMvc.perform(get("/api/users/search?q=ma").header("Authorization", "Bearer " + token()))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].username").value("bob_jones"));
+        } finally {
+            ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        }
+    }
+
+    @Test
+    void search_BlankQuery_Returns400() throws Exception {
+        mockMvc.perform(get("/api/users/search?q= ").header("Authorization", "Bearer " + token()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String token() {
+        UserPrincipal user = new UserPrincipal(5001L, "search_user", null, null, Role.STUDENT, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.tusharkumarroy.studentmanagement.integration;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
+import com.tusharkumarroy.studentmanagement.service.UserService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Serves concurrent requests on virtual threads with JFR recording every time one
+// blocks while pinned to its carrier, and fails if any of those stacks runs through
+// this application's code. Needs Java 21; skipped on older JVMs.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.threads.virtual.enabled=true", "db-limiter.permits=4"})
+@ActiveProfiles("test")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTest {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String STARTED = "jdk.VirtualThreadStart";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            userService.createUser(new User("pin" + i, "student123", "pin" + i + "@test.com", "Physics", Role.STUDENT));
+        }
+    }
+
+    @Test
+    void requests_DoNotPinCarrierThreadsInApplicationCode() throws Exception {
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recording.enable(STARTED);
+            recording.start();
+            sendConcurrentRequests();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinnedInApplication = new ArrayList<>();
+        int virtualThreads = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().equals(STARTED)) {
+                virtualThreads++;
+            } else if (event.getStackTrace() != null) {
+                event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .filter(method -> method.getType().getName().startsWith("com.tusharkumarroy"))
+                        .findFirst()
+                        .ifPresent(method -> pinnedInApplication.add(method.getType().getName() + "." + method.getName()));
+            }
+        }
+        Files.delete(dump);
+
+        assertTrue(virtualThreads > 0, "requests should run on virtual threads");
+        assertEquals(List.of(), pinnedInApplication);
+    }
+
+    // Listings, lookups, statistics and search (database), and logins (BCrypt pool)
+    private void sendConcurrentRequests() {
+        HttpClient client = HttpClient.newHttpClient();
+        String token = token();
+        List<String> paths = List.of("/api/students?size=2", "/api/users?sort=username", "/api/admin/stats",
+                "/api/users/search?q=pin", "/api/teachers");
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(url(paths.get(i % paths.size())))
+                    .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < 5; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(url("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"pin" + i + "\",\"password\":\"student123\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+    }
+
+    private URI url(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private String token() {
+        UserPrincipal principal = new UserPrincipal(4201L, "pin_admin", null, null, Role.ADMIN, 0);
+        return jwtUtil.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
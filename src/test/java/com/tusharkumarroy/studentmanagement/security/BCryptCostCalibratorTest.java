@@ -0,0 +1,64 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void calibrate_FixedStrength_SkipsMeasurement() {
+        BCryptCostCalibrator calibrator = calibrator(12, Duration.ofMillis(250), 10, 16);
+
+        calibrator.calibrate();
+
+        assertEquals(12, calibrator.getStrength());
+    }
+
+    @Test
+    void calibrate_TargetBelowMinimumCost_KeepsMinimum() {
+        BCryptCostCalibrator calibrator = calibrator(0, Duration.ofNanos(1), 5, 8);
+
+        calibrator.calibrate();
+
+        assertEquals(5, calibrator.getStrength());
+    }
+
+    @Test
+    void calibrate_GenerousTarget_StopsAtMaximum() {
+        BCryptCostCalibrator calibrator = calibrator(0, Duration.ofSeconds(30), 4, 6);
+
+        calibrator.calibrate();
+
+        assertEquals(6, calibrator.getStrength());
+    }
+
+    @Test
+    void strengthOf_ReadsCostFromHash() {
+        assertEquals(5, BCryptCostCalibrator.strengthOf(new BCryptPasswordEncoder(5).encode("student123")));
+        assertEquals(-1, BCryptCostCalibrator.strengthOf("plain-text"));
+        assertEquals(-1, BCryptCostCalibrator.strengthOf(null));
+    }
+
+    @Test
+    void upgradeEncoding_AnyDifferentCost_IsRehashed() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("student123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("student123")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("student123")));
+    }
+
+    private BCryptCostCalibrator calibrator(int fixed, Duration target, int min, int max) {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator();
+        ReflectionTestUtils.setField(calibrator, "fixedStrength", fixed);
+        ReflectionTestUtils.setField(calibrator, "targetLatency", target);
+        ReflectionTestUtils.setField(calibrator, "minStrength", min);
+        ReflectionTestUtils.setField(calibrator, "maxStrength", max);
+        return calibrator;
+    }
+}
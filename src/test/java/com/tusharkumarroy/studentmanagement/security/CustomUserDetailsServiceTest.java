@@ -0,0 +1,122 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userDetailsService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsService, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "ttl", Duration.ofMinutes(5));
+        userDetailsService.init();
+    }
+
+    @Test
+    void loadUserByUsername_SecondCall_ServedFromCache() {
+        when(userRepository.findByUsername("alice_brown")).thenReturn(Optional.of(user("alice_brown", Role.STUDENT)));
+
+        UserDetails first = userDetailsService.loadUserByUsername("alice_brown");
+        UserDetails second = userDetailsService.loadUserByUsername("alice_brown");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByUsername("alice_brown");
+        assertEquals(1, userDetailsService.getCacheStats().hitCount());
+        assertEquals(1, userDetailsService.getCacheStats().missCount());
+    }
+
+    @Test
+    void evict_RoleChange_VisibleOnNextLoad() {
+        when(userRepository.findByUsername("john_doe"))
+                .thenReturn(Optional.of(user("john_doe", Role.TEACHER)))
+                .thenReturn(Optional.of(user("john_doe", Role.ADMIN)));
+
+        assertEquals(Role.TEACHER, ((UserPrincipal) userDetailsService.loadUserByUsername("john_doe")).getRole());
+        userDetailsService.evict("john_doe");
+
+        assertEquals(Role.ADMIN, ((UserPrincipal) userDetailsService.loadUserByUsername("john_doe")).getRole());
+    }
+
+    @Test
+    void loadUserByUsername_UnknownUser_NotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void concurrentLogins_HitDatabaseOncePerUser() throws Exception {
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5); // simulated round trip
+            return Optional.of(user(invocation.getArgument(0), Role.STUDENT));
+        });
+
+        int threads = 32;
+        int requestsPerThread = 500;
+        int distinctUsers = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            results.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < requestsPerThread; i++) {
+                    userDetailsService.loadUserByUsername("student" + ((i + offset) % distinctUsers));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 16,000 lookups, one database round trip per distinct user
+        verify(userRepository, times(distinctUsers)).findByUsername(anyString());
+        assertEquals(threads * requestsPerThread - distinctUsers, userDetailsService.getCacheStats().hitCount());
+    }
+
+    private User user(String username, Role role) {
+        User user = new User(username, "encodedPassword", username + "@school.com", "Computer Science", role);
+        user.setId((long) username.hashCode());
+        return user;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(3600000);
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsClaims() {
+        String token = jwtUtil.generateToken(authenticationFor("alice_brown"));
+
+        Optional<JwtClaims> claims = jwtUtil.verify(token);
+
+        assertTrue(claims.isPresent());
+        assertNotNull(claims.get().getTokenId());
+        assertEquals("alice_brown", claims.get().getUsername());
+        assertEquals(7L, claims.get().getUserId());
+        assertEquals(Role.STUDENT, claims.get().getRole());
+        assertEquals(2L, claims.get().getTokenVersion());
+        assertNotNull(claims.get().getExpiresAt());
+        assertFalse(claims.get().isExpired());
+    }
+
+    @Test
+    void verify_RepeatedToken_ServedFromCache() {
+        String token = jwtUtil.generateToken(authenticationFor("alice_brown"));
+
+        JwtClaims first = jwtUtil.verify(token).orElseThrow();
+        JwtClaims second = jwtUtil.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_TamperedToken_ReturnsEmpty() {
+        String token = jwtUtil.generateToken(authenticationFor("alice_brown"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+
+    @Test
+    void verify_ExpiredToken_ReturnsEmpty() {
+        JwtUtil expiring = newJwtUtil(-1000);
+        String token = expiring.generateToken(authenticationFor("alice_brown"));
+
+        assertTrue(expiring.verify(token).isEmpty());
+        assertThrows(JwtException.class, () -> expiring.getUsernameFromToken(token));
+    }
+
+    @Test
+    void verify_TokenFromOtherKey_ReturnsEmpty() {
+        JwtUtil other = newJwtUtil(3600000);
+        ReflectionTestUtils.setField(other, "jwtSecret", "anotherSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256");
+        other.init();
+        String token = other.generateToken(authenticationFor("alice_brown"));
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
+
+    static JwtUtil newJwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaxSize", 1000L);
+        ReflectionTestUtils.setField(util, "meterRegistry", new SimpleMeterRegistry());
+        util.init();
+        return util;
+    }
+
+    static UsernamePasswordAuthenticationToken authenticationFor(String username) {
+        UserPrincipal principal = new UserPrincipal(7L, username, null, "", Role.STUDENT, 2L);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,64 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Per-request CPU of the JWT filter path: the old validate + getUsername pair
+// (new key, new parser, two signature checks) against the single cached verify.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=JwtVerificationBenchmark
+class JwtVerificationBenchmark {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void perRequestCpu() {
+        JwtUtil jwtUtil = JwtUtilTest.newJwtUtil(3600000);
+
+        // Distinct tokens so the miss path really checks a signature on every call
+        String[] tokens = new String[WARMUP + ITERATIONS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtUtil.generateToken(JwtUtilTest.authenticationFor("user" + i));
+        }
+        String token = tokens[0];
+
+        double legacy = cpuNanosPerOp(i -> {
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token).getBody().getSubject();
+        });
+
+        JwtUtil uncached = JwtUtilTest.newJwtUtil(3600000);
+        double miss = cpuNanosPerOp(i -> uncached.verify(tokens[i]).orElseThrow());
+
+        double hit = cpuNanosPerOp(i -> jwtUtil.verify(token).orElseThrow());
+
+        System.out.printf("legacy validate+getUsername : %,10.0f ns/request%n", legacy);
+        System.out.printf("single-pass verify (miss)   : %,10.0f ns/request%n", miss);
+        System.out.printf("single-pass verify (hit)    : %,10.0f ns/request%n", hit);
+        System.out.printf("CPU saved per repeat request: %,10.0f ns%n", legacy - hit);
+
+        assertTrue(miss < legacy, "a single verification should be cheaper than the legacy double parse");
+        assertTrue(hit < miss, "a cache hit should skip the signature work");
+    }
+
+    private double cpuNanosPerOp(Consumer<Integer> op) {
+        for (int i = 0; i < WARMUP; i++) {
+            op.accept(i);
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = WARMUP; i < WARMUP + ITERATIONS; i++) {
+            op.accept(i);
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / (double) ITERATIONS;
+    }
+}
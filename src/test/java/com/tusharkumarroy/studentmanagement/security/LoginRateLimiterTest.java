@@ -0,0 +1,127 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "ipCapacity", 10);
+        ReflectionTestUtils.setField(rateLimiter, "ipPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rateLimiter, "usernameCapacity", 3);
+        ReflectionTestUtils.setField(rateLimiter, "usernamePeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000L);
+        rateLimiter.init();
+    }
+
+    @Test
+    void check_UsernameOverBudget_Rejected() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("10.0.0.1", "alice_brown");
+        }
+
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.check("10.0.0.2", "Alice_Brown"));
+        assertEquals(20, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.rate_limit.rejected").tag("key", "username").counter().count());
+
+        // Other users from the same client are unaffected
+        rateLimiter.check("10.0.0.1", "john_doe");
+    }
+
+    @Test
+    void check_ClientOverBudget_RejectedAcrossUsernames() {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.check("10.0.0.1", "user" + i);
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.check("10.0.0.1", "fresh_user"));
+        assertEquals(1.0, meterRegistry.get("auth.rate_limit.rejected").tag("key", "ip").counter().count());
+        rateLimiter.check("10.0.0.2", "fresh_user");
+    }
+
+    @Test
+    void check_KeyTableFull_RefusesNewKeysAndKeepsThrottledOnes() {
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 3L);
+        rateLimiter.init();
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check(null, "alice_brown");
+        }
+
+        rateLimiter.check(null, "spray1");
+        rateLimiter.check(null, "spray2");
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.check(null, "spray3"));
+
+        // Still throttled: the sprayed keys did not evict its bucket
+        assertThrows(RateLimitExceededException.class, () -> rateLimiter.check(null, "alice_brown"));
+    }
+
+    @Test
+    void tokenBucket_RefillsOneTokenPerInterval() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, interval, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(interval, bucket.tryAcquire(0));
+        assertEquals(interval / 2, bucket.tryAcquire(interval / 2));
+        assertEquals(0, bucket.tryAcquire(interval));
+    }
+
+    @Test
+    void tokenBucket_ConcurrentAcquires_GrantExactlyCapacity() throws Exception {
+        int capacity = 10_000;
+        TokenBucket bucket = new TokenBucket(capacity, TimeUnit.HOURS.toNanos(1), System.nanoTime());
+
+        int threads = 32;
+        int attemptsPerThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (bucket.tryAcquire(System.nanoTime()) == 0) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get(30, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        pool.shutdown();
+
+        // 64,000 attempts against 10,000 tokens: no over- or under-granting, no lock convoy
+        assertEquals(capacity, granted);
+        assertTrue(elapsedMillis < 5_000, "64,000 acquires took " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,87 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "poolSize", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_PoolSaturated_RejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+        CompletableFuture<Boolean> queued = executor.submit(() -> await(release));
+
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> rejected = executor.submit(() -> true);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        PasswordHashingUnavailableException busy = assertInstanceOf(PasswordHashingUnavailableException.class, failure.getCause());
+        assertEquals(2L, busy.getRetryAfterSeconds());
+        assertTrue(elapsedMillis < 100, "rejection should not wait for capacity");
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encoder_RunsBcryptOnHashingPool() {
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor, new SimpleMeterRegistry());
+
+        String encoded = encoder.encode("student123");
+
+        assertFalse(executor.isHashingThread());
+        assertTrue(encoder.matches("student123", encoded));
+        assertFalse(encoder.matches("wrong", encoded));
+        assertEquals("password-hashing-1", executor.submit(() -> Thread.currentThread().getName()).join());
+    }
+
+    @Test
+    void encoder_PoolSaturated_ThrowsUnavailable() {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> await(release));
+        executor.submit(() -> await(release));
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor, new SimpleMeterRegistry());
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("student123"));
+        release.countDown();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import com.tusharkumarroy.studentmanagement.entity.RefreshToken;
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenVersionRegistry tokenVersions;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final UserPrincipal principal = new UserPrincipal(7L, "alice_brown", "alice@school.com", null, Role.STUDENT, 2L);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(refreshTokenService, "expiration", 60000L);
+        ReflectionTestUtils.setField(refreshTokenService, "cacheMaxSize", 100L);
+        refreshTokenService.init();
+    }
+
+    @Test
+    void issue_StoresDigestOnly() {
+        String token = refreshTokenService.issue(principal);
+
+        verify(refreshTokenRepository).save(argThat(stored ->
+                stored.getTokenHash().equals(TokenDigest.sha256(token)) && !stored.getTokenHash().equals(token)));
+    }
+
+    @Test
+    void consume_RecentlyIssued_ServedFromMemory() {
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
+        when(tokenVersions.isCurrent(7L, 2L)).thenReturn(true);
+        String token = refreshTokenService.issue(principal);
+
+        UserPrincipal refreshed = refreshTokenService.consume(token).orElseThrow();
+
+        assertEquals("alice_brown", refreshed.getUsername());
+        assertEquals("alice@school.com", refreshed.getEmail());
+        assertEquals(Role.STUDENT, refreshed.getRole());
+        assertEquals(2L, refreshed.getTokenVersion());
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+    }
+
+    @Test
+    void consume_AlreadyConsumed_ReturnsEmpty() {
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1, 0);
+        when(tokenVersions.isCurrent(7L, 2L)).thenReturn(true);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(Instant.now().plusSeconds(60))));
+        String token = refreshTokenService.issue(principal);
+
+        assertTrue(refreshTokenService.consume(token).isPresent());
+        assertTrue(refreshTokenService.consume(token).isEmpty());
+    }
+
+    @Test
+    void consume_OutdatedVersion_ReturnsEmpty() {
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
+        when(tokenVersions.isCurrent(7L, 2L)).thenReturn(false);
+        String token = refreshTokenService.issue(principal);
+
+        assertTrue(refreshTokenService.consume(token).isEmpty());
+    }
+
+    @Test
+    void consume_Expired_ReturnsEmpty() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(Instant.now().minusSeconds(1))));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
+
+        assertTrue(refreshTokenService.consume("expired-token").isEmpty());
+    }
+
+    private RefreshToken stored(Instant expiresAt) {
+        return new RefreshToken("hash", 7L, "alice_brown", "alice@test.com", Role.STUDENT, 2L, expiresAt);
+    }
+}
@@ -0,0 +1,58 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cost of the denylist check the JWT filter adds for tokens that were never revoked,
+// with an empty denylist and with 100,000 revoked tokens spread over 15 buckets.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=TokenDenylistBenchmark
+class TokenDenylistBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    void checkOverheadForValidTokens() {
+        String[] tokenIds = new String[1024];
+        for (int i = 0; i < tokenIds.length; i++) {
+            tokenIds[i] = UUID.randomUUID().toString();
+        }
+
+        TokenDenylist empty = TokenDenylistTest.newDenylist(Duration.ofMinutes(1));
+        double emptyCost = cpuNanosPerCheck(empty, tokenIds);
+
+        TokenDenylist large = TokenDenylistTest.newDenylist(Duration.ofMinutes(1));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 100_000; i++) {
+            large.revoke(UUID.randomUUID().toString(), now + 60_000L * (1 + i % 15));
+        }
+        double largeCost = cpuNanosPerCheck(large, tokenIds);
+
+        System.out.printf("empty denylist          : %,8.1f ns/check%n", emptyCost);
+        System.out.printf("100,000 revoked tokens  : %,8.1f ns/check%n", largeCost);
+
+        assertTrue(largeCost < 1_000, "a never-revoked token should be answered by the Bloom filter");
+    }
+
+    private double cpuNanosPerCheck(TokenDenylist denylist, String[] tokenIds) {
+        int revoked = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            revoked += denylist.isRevoked(tokenIds[i & 1023]) ? 1 : 0;
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            revoked += denylist.isRevoked(tokenIds[i & 1023]) ? 1 : 0;
+        }
+        long elapsed = threads.getCurrentThreadCpuTime() - start;
+        assertTrue(revoked == 0);
+        return elapsed / (double) ITERATIONS;
+    }
+}
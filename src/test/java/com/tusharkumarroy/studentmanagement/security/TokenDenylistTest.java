@@ -0,0 +1,76 @@
+package com.tusharkumarroy.studentmanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    private TokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        denylist = newDenylist(Duration.ofMillis(50));
+    }
+
+    @Test
+    void revoke_OnlyThatTokenIsRevoked() {
+        denylist.revoke("revoked-id", System.currentTimeMillis() + 60_000);
+
+        assertTrue(denylist.isRevoked("revoked-id"));
+        assertFalse(denylist.isRevoked("other-id"));
+        assertFalse(denylist.isRevoked(null));
+    }
+
+    @Test
+    void revoke_AlreadyExpiredToken_NotStored() {
+        denylist.revoke("expired-id", System.currentTimeMillis() - 1);
+
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void purgeExpired_DropsEntriesPastTheirExpiry() throws InterruptedException {
+        denylist.revoke("short-lived", System.currentTimeMillis() + 20);
+        denylist.revoke("long-lived", System.currentTimeMillis() + 60_000);
+
+        Thread.sleep(150);
+        denylist.purgeExpired();
+
+        assertEquals(1, denylist.size());
+        assertFalse(denylist.isRevoked("short-lived"));
+        assertTrue(denylist.isRevoked("long-lived"));
+    }
+
+    @Test
+    void bloomFilter_FalsePositiveRateStaysNearConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 500, "false positives: " + falsePositives);
+    }
+
+    static TokenDenylist newDenylist(Duration bucketWidth) {
+        TokenDenylist denylist = new TokenDenylist();
+        ReflectionTestUtils.setField(denylist, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(denylist, "bucketWidth", bucketWidth);
+        ReflectionTestUtils.setField(denylist, "expectedSize", 100_000L);
+        ReflectionTestUtils.setField(denylist, "falsePositiveRate", 0.001);
+        denylist.init();
+        return denylist;
+    }
+}
@@ -7,6 +7,10 @@ import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
 import com.tusharkumarroy.studentmanagement.security.JwtUtil;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingExecutor;
+import com.tusharkumarroy.studentmanagement.security.PasswordHashingUnavailableException;
+import com.tusharkumarroy.studentmanagement.security.RefreshTokenService;
+import com.tusharkumarroy.studentmanagement.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +23,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +46,18 @@ class AuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private RosterVersion rosterVersion;
+
+    @Mock
+    private UserSearchIndex searchIndex;
+
     @InjectMocks
     private AuthService authService;
 
@@ -66,6 +85,10 @@ class AuthServiceTest {
         testUser.setPassword("encodedPassword");
         testUser.setDepartment("Computer Science");
         testUser.setRole(Role.STUDENT);
+
+        // Run hashing work inline so the futures complete on the test thread
+        lenient().when(passwordHashingExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
     }
 
     @Test
@@ -77,7 +100,7 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
-        User result = authService.register(registerRequest);
+        User result = authService.register(registerRequest).join();
 
         // Assert
         assertNotNull(result);
@@ -115,20 +138,64 @@ class AuthServiceTest {
     void login_Success() {
         // Arrange
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.fromUser(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
             .thenReturn(authentication);
         when(jwtUtil.generateToken(authentication)).thenReturn("test-jwt-token");
-        when(userRepository.findByUsername(loginRequest.getUsername()))
-            .thenReturn(Optional.of(testUser));
+        when(refreshTokenService.issue(any(UserPrincipal.class))).thenReturn("test-refresh-token");
 
         // Act
-        LoginResponse result = authService.login(loginRequest);
+        LoginResponse result = authService.login(loginRequest).join();
 
         // Assert
         assertNotNull(result);
         assertEquals("test-jwt-token", result.getToken());
+        assertEquals("test-refresh-token", result.getRefreshToken());
         assertEquals(testUser.getUsername(), result.getUsername());
         assertEquals(testUser.getEmail(), result.getEmail());
         assertEquals(testUser.getRole().name(), result.getRole());
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void login_HashingPoolSaturated_FailsFast() {
+        // Arrange
+        doReturn(CompletableFuture.failedFuture(new PasswordHashingUnavailableException(1)))
+            .when(passwordHashingExecutor).submit(any());
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> authService.login(loginRequest).join());
+        assertInstanceOf(PasswordHashingUnavailableException.class, exception.getCause());
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void refresh_ValidToken_IssuesNewPairWithoutHashing() {
+        // Arrange
+        UserPrincipal principal = UserPrincipal.fromUser(testUser);
+        when(refreshTokenService.consume("old-refresh-token")).thenReturn(Optional.of(principal));
+        when(jwtUtil.generateToken(any(Authentication.class))).thenReturn("new-jwt-token");
+        when(refreshTokenService.issue(principal)).thenReturn("new-refresh-token");
+
+        // Act
+        LoginResponse result = authService.refresh("old-refresh-token");
+
+        // Assert
+        assertEquals("new-jwt-token", result.getToken());
+        assertEquals("new-refresh-token", result.getRefreshToken());
+        verify(authenticationManager, never()).authenticate(any());
+        verify(passwordHashingExecutor, never()).submit(any());
+    }
+
+    @Test
+    void refresh_UnknownToken_ThrowsException() {
+        // Arrange
+        when(refreshTokenService.consume("stale")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.refresh("stale"));
+        assertEquals("Invalid refresh token", exception.getMessage());
+        verify(refreshTokenService, never()).issue(any());
     }
 }
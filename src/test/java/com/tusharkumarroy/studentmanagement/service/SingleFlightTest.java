@@ -0,0 +1,114 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallers_ShareOneRun() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        AtomicInteger runs = new AtomicInteger();
+        List<Future<Object>> results = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            results.add(threads.submit(() -> flight.execute("students", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return new Object();
+            })));
+        }
+        awaitCallers(flight, 20);
+        release.countDown();
+
+        Object shared = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertSame(shared, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.callers());
+    }
+
+    @Test
+    void differentKeys_RunSeparately() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(10));
+
+        assertEquals("students", flight.execute("students", () -> "students"));
+        assertEquals("teachers", flight.execute("teachers", () -> "teachers"));
+        // Nothing is kept after a run completes
+        assertEquals("again", flight.execute("students", () -> "again"));
+    }
+
+    @Test
+    void hungRun_WaiterTimesOut_AndNextCallerStartsFresh() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMillis(100));
+        Future<String> hung = threads.submit(() -> flight.execute("students", () -> {
+            await(release);
+            return "late";
+        }));
+        awaitCallers(flight, 1);
+
+        assertThrows(ReadTimeoutException.class, () -> flight.execute("students", () -> "unused"));
+        assertEquals("fresh", flight.execute("students", () -> "fresh"));
+
+        release.countDown();
+        assertEquals("late", hung.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedRun_FailsWaitersWithSameError() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        Future<String> leader = threads.submit(() -> flight.execute("students", () -> {
+            await(release);
+            throw new RuntimeException("Invalid cursor");
+        }));
+        awaitCallers(flight, 1);
+        Future<String> waiter = threads.submit(() -> flight.execute("students", () -> "unused"));
+        awaitCallers(flight, 2);
+
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertEquals("Invalid cursor", leaderFailure.getCause().getMessage());
+        assertEquals("Invalid cursor", waiterFailure.getCause().getMessage());
+    }
+
+    static void awaitCallers(SingleFlight<?, ?> flight, int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.callers() < callers) {
+            assertTrue(System.nanoTime() < deadline, "callers never reached " + callers);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Latency of UserSearchIndex.search over 1,000,000 indexed users, per query shape:
+// selective substrings, common substrings that fill the limit early, prefixes and misses.
+// Run with: ./mvnw test -Pbenchmarks -Dtest=UserSearchBenchmark
+class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int ROUNDS = 2_000;
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+            "History", "Geography", "Economics", "Literature", "Philosophy"};
+
+    private static final List<String> QUERIES = List.of(
+            "student734251",  // one user, long query
+            "34251",          // a few users, digits only
+            "school17.edu",   // one domain out of 50
+            "physics",        // a tenth of all users
+            "st",             // prefix, everyone
+            "ph",             // prefix, one department
+            "zzzq");          // no match
+
+    @Test
+    void queryLatency() {
+        UserSearchIndex index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("student" + i, "encoded", "s" + i + "@school" + (i % 50) + ".edu",
+                    DEPARTMENTS[i % DEPARTMENTS.length], i % 20 == 0 ? Role.TEACHER : Role.STUDENT);
+            user.setId((long) i + 1);
+            index.put(user);
+        }
+        System.out.printf("indexed %,d users in %,d ms%n", index.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        for (String query : QUERIES) {
+            // Warm up, then time
+            for (int i = 0; i < ROUNDS; i++) {
+                index.search(query, null, 20);
+            }
+            long[] nanos = new long[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                long begin = System.nanoTime();
+                index.search(query, null, 20);
+                nanos[i] = System.nanoTime() - begin;
+            }
+            Arrays.sort(nanos);
+            double p50 = nanos[ROUNDS / 2] / 1e3;
+            double p99 = nanos[ROUNDS * 99 / 100] / 1e3;
+            System.out.printf("%-15s p50 %8.1f us   p99 %8.1f us   (%d hits)%n", query, p50, p99,
+                    index.search(query, null, 20).size());
+            assertTrue(p50 < 1000, query + " median should be sub-millisecond, was " + p50 + " us");
+        }
+        assertFalse(index.search("student734251", null, 20).isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.tusharkumarroy.studentmanagement.service;
+
+import com.tusharkumarroy.studentmanagement.entity.Role;
+import com.tusharkumarroy.studentmanagement.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.put(user(1L, "alice_smith", "alice@school.edu", "Computer Science", Role.STUDENT));
+        index.put(user(2L, "bob_jones", "bjones@school.edu", "Mathematics", Role.TEACHER));
+        index.put(user(3L, "carol", "carol.smith@mail.com", "Physics", Role.STUDENT));
+    }
+
+    @Test
+    void search_Substring_MatchesAnyField() {
+        assertEquals(List.of(1L, 3L), index.search("smith", null, 10));
+        assertEquals(List.of(1L), index.search("science", null, 10));
+        assertEquals(List.of(3L), index.search("mail.com", null, 10));
+    }
+
+    @Test
+    void search_ShortQuery_MatchesPrefixOnly() {
+        assertEquals(List.of(3L), index.search("ca", null, 10));
+        assertEquals(List.of(2L), index.search("m", null, 10));
+        assertEquals(List.of(), index.search("mi", null, 10));
+    }
+
+    @Test
+    void search_TrigramsPresentButNotAdjacent_IsNoMatch() {
+        // "ali" and "lic" both occur in alice_smith, "alic" does too, "alicx" does not
+        assertEquals(List.of(), index.search("alicx", null, 10));
+        assertEquals(List.of(1L), index.search("alic", null, 10));
+    }
+
+    @Test
+    void search_FiltersByRoleAndLimit() {
+        assertEquals(List.of(2L), index.search("school", Role.TEACHER, 10));
+        assertEquals(List.of(1L), index.search("school", null, 1));
+    }
+
+    @Test
+    void put_ExistingUser_ReplacesOldValues() {
+        index.put(user(1L, "alice_brown", "alice@school.edu", "Computer Science", Role.STUDENT));
+
+        assertEquals(List.of(3L), index.search("smith", null, 10));
+        assertEquals(List.of(1L), index.search("brown", null, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_DropsUser() {
+        index.remove(3L);
+
+        assertEquals(List.of(1L), index.search("smith", null, 10));
+        assertEquals(2, index.size());
+    }
+
+    private static User user(Long id, String username, String email, String department, Role role) {
+        User user = new User(username, "encoded", email, department, role);
+        user.setId(id);
+        return user;
+    }
+}
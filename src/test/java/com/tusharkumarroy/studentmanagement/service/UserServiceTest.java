@@ -3,6 +3,9 @@ package com.tusharkumarroy.studentmanagement.service;
 import com.tusharkumarroy.studentmanagement.entity.Role;
 import com.tusharkumarroy.studentmanagement.entity.User;
 import com.tusharkumarroy.studentmanagement.repository.UserRepository;
+import com.tusharkumarroy.studentmanagement.security.CustomUserDetailsService;
+import com.tusharkumarroy.studentmanagement.security.RefreshTokenService;
+import com.tusharkumarroy.studentmanagement.security.TokenRevocationLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,21 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationLog revocations;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private RosterVersion rosterVersion;
+
+    @Mock
+    private UserSearchIndex searchIndex;
+
     @InjectMocks
     private UserService userService;
 
@@ -66,6 +84,7 @@ class UserServiceTest {
         assertNotNull(createdUser);
         assertEquals(testStudent.getUsername(), createdUser.getUsername());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(rosterVersion).bump();
     }
 
     @Test
@@ -76,6 +95,7 @@ class UserServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> userService.createUser(testStudent));
         verify(userRepository, never()).save(any(User.class));
+        verify(rosterVersion, never()).bump();
     }
 
     @Test
@@ -126,5 +146,21 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository, times(1)).deleteById(1L);
+        verify(refreshTokenService).revokeAll(1L);
+    }
+
+    @Test
+    void deleteUser_Teacher_UnassignsStudentsInBulk() {
+        // Arrange
+        testTeacher.getAssignedStudents().add(testStudent);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(testTeacher));
+
+        // Act
+        userService.deleteUser(2L);
+
+        // Assert
+        verify(userRepository).unassignStudents(testTeacher);
+        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).deleteById(2L);
     }
 }